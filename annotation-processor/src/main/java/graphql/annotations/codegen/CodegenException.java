@@ -0,0 +1,35 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.codegen;
+
+import javax.lang.model.element.Element;
+
+/**
+ * An element which can't be generated, reported as a compilation error on the element
+ */
+public class CodegenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Element element;
+
+    public CodegenException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    public Element getElement() {
+        return element;
+    }
+}
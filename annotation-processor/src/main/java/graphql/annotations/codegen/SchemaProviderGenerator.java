@@ -0,0 +1,768 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.codegen;
+
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLDeprecate;
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLID;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLNonNull;
+import graphql.annotations.annotationTypes.GraphQLPrettify;
+import graphql.annotations.annotationTypes.GraphQLSchemaProvider;
+import graphql.annotations.connection.GraphQLConnection;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
+
+/**
+ * Generates the source of the {@link graphql.annotations.SchemaProvider} of a query class.
+ * <p>
+ * The types, names, descriptions and deprecations follow the rules of the runtime annotations processor. The
+ * supported subset is: object classes, enums, the default scalars, lists, arrays and optionals, arguments of scalar
+ * or enum types, {@link GraphQLDataFetcher}s with a default constructor, and {@link GraphQLConnection}s. Any other
+ * construct is reported as an error.
+ */
+class SchemaProviderGenerator {
+    private static final String DATA_FETCHING_ENVIRONMENT = "graphql.schema.DataFetchingEnvironment";
+    private static final String DEFAULT_CONNECTION_VALIDATOR = "graphql.annotations.connection.PaginatedDataConnectionTypeValidator";
+    private static final String PAGINATED_DATA = "graphql.annotations.connection.PaginatedData";
+    private static final String FAKE_RELAY = "graphql.annotations.connection.FakeRelay";
+    private static final String EXECUTOR = "java.util.concurrent.Executor";
+    private static final List<String> UNSUPPORTED_ANNOTATIONS = Arrays.asList("GraphQLBatched", "GraphQLDataLoader",
+            "GraphQLRelayMutation", "GraphQLInvokeDetached", "GraphQLDirectives", "GraphQLType", "GraphQLDefaultValue",
+            "GraphQLTypeExtension", "GraphQLUnion", "GraphQLTypeResolver");
+    private static final Map<String, String> SCALARS = new HashMap<>();
+
+    static {
+        SCALARS.put("java.lang.String", "GraphQLString");
+        SCALARS.put("java.lang.Boolean", "GraphQLBoolean");
+        SCALARS.put("boolean", "GraphQLBoolean");
+        SCALARS.put("java.lang.Double", "GraphQLFloat");
+        SCALARS.put("double", "GraphQLFloat");
+        SCALARS.put("java.lang.Integer", "GraphQLInt");
+        SCALARS.put("int", "GraphQLInt");
+        SCALARS.put("java.lang.Long", "GraphQLLong");
+        SCALARS.put("long", "GraphQLLong");
+        SCALARS.put("java.lang.Byte", "GraphQLByte");
+        SCALARS.put("java.lang.Short", "GraphQLShort");
+        SCALARS.put("java.math.BigInteger", "GraphQLBigInteger");
+        SCALARS.put("java.math.BigDecimal", "GraphQLBigDecimal");
+        SCALARS.put("java.lang.Character", "GraphQLChar");
+    }
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement query;
+    private final TypeElement mutation;
+    private final String packageName;
+    private final String simpleName;
+
+    private final Map<String, TypeElement> typesByName = new LinkedHashMap<>();
+    private final Map<TypeElement, String> typeMethods = new HashMap<>();
+    private final Deque<TypeElement> pending = new ArrayDeque<>();
+    // instance creation expression -> name of the provider field holding the instance
+    private final Map<String, String> sharedInstances = new LinkedHashMap<>();
+    private final StringBuilder methods = new StringBuilder();
+
+    SchemaProviderGenerator(ProcessingEnvironment processingEnv, TypeElement query) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.query = query;
+        GraphQLSchemaProvider annotation = query.getAnnotation(GraphQLSchemaProvider.class);
+        TypeMirror mutationType = typeOf(annotation::mutation);
+        this.mutation = isClass(mutationType, "java.lang.Void") ? null : (TypeElement) types.asElement(mutationType);
+        this.packageName = elements.getPackageOf(query).getQualifiedName().toString();
+        this.simpleName = annotation.name().isEmpty() ? query.getSimpleName() + "SchemaProvider" : annotation.name();
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String generate() {
+        String queryMethod = typeMethod(query);
+        String mutationMethod = mutation == null ? null : typeMethod(mutation);
+        while (!pending.isEmpty()) {
+            TypeElement type = pending.poll();
+            if (type.getKind() == ElementKind.ENUM) {
+                generateEnum(type);
+            } else {
+                generateObject(type);
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(SchemaProviderProcessor.class.getName()).append(" from {@link ")
+                .append(query.getQualifiedName()).append("}\n */\n");
+        source.append("public final class ").append(simpleName).append(" implements graphql.annotations.SchemaProvider {\n");
+        sharedInstances.forEach((expression, field) -> source.append("    private final ").append(expression, 4, expression.indexOf('('))
+                .append(' ').append(field).append(" = ").append(expression).append(";\n"));
+        source.append("\n    @Override\n    public graphql.schema.GraphQLSchema getSchema() {\n")
+                .append("        graphql.schema.GraphQLCodeRegistry.Builder codeRegistry = graphql.schema.GraphQLCodeRegistry.newCodeRegistry();\n")
+                .append("        java.util.Map<String, graphql.schema.GraphQLObjectType> connections = new java.util.HashMap<>();\n")
+                .append("        java.util.Set<graphql.schema.GraphQLType> additionalTypes = new java.util.LinkedHashSet<>();\n");
+        for (TypeElement type : typesByName.values()) {
+            if (type != query && type != mutation) {
+                source.append("        additionalTypes.add(").append(call(type)).append(");\n");
+            }
+        }
+        source.append("        additionalTypes.add(graphql.relay.Relay.pageInfoType);\n")
+                .append("        return graphql.schema.GraphQLSchema.newSchema()\n")
+                .append("                .query(").append(queryMethod).append("(codeRegistry, connections))\n");
+        if (mutationMethod != null) {
+            source.append("                .mutation(").append(mutationMethod).append("(codeRegistry, connections))\n");
+        }
+        source.append("                .additionalTypes(additionalTypes)\n")
+                .append("                .codeRegistry(codeRegistry.build())\n")
+                .append("                .build();\n    }\n");
+        source.append(methods);
+        source.append("\n    private static graphql.schema.GraphQLObjectType connection(java.util.Map<String, graphql.schema.GraphQLObjectType> connections,\n")
+                .append("                                                                graphql.relay.Relay relay, String name, graphql.schema.GraphQLOutputType node) {\n")
+                .append("        return connections.computeIfAbsent(name, key -> relay.connectionType(key,\n")
+                .append("                relay.edgeType(key, node, null, java.util.Collections.emptyList()), java.util.Collections.emptyList()));\n")
+                .append("    }\n");
+        source.append("\n    private static Object wrapping(Class<?> type, Object source) {\n")
+                .append("        return graphql.annotations.dataFetchers.lifecycle.InstanceFactory.of(type).newInstance(source);\n")
+                .append("    }\n");
+        source.append("\n    private static Object property(Object source, String name) {\n")
+                .append("        try {\n")
+                .append("            return graphql.annotations.dataFetchers.SourcePropertyAccessor.of(source.getClass(), name).get(source);\n")
+                .append("        } catch (NoSuchFieldException e) {\n")
+                .append("            throw new RuntimeException(e);\n")
+                .append("        }\n")
+                .append("    }\n}\n");
+        return source.toString();
+    }
+
+    private String call(TypeElement type) {
+        String method = typeMethods.get(type);
+        return type.getKind() == ElementKind.ENUM ? method + "()" : method + "(codeRegistry, connections)";
+    }
+
+    /**
+     * Registers a type to generate
+     *
+     * @return the name of the method which builds the type
+     */
+    private String typeMethod(TypeElement type) {
+        String name = typeName(type);
+        TypeElement existing = typesByName.get(name);
+        if (existing == null) {
+            checkType(type);
+            typesByName.put(name, type);
+            typeMethods.put(type, "type" + typeMethods.size());
+            pending.add(type);
+        } else if (!existing.equals(type)) {
+            throw new CodegenException("The type name " + name + " is used by both " + existing.getQualifiedName()
+                    + " and " + type.getQualifiedName(), type);
+        }
+        return typeMethods.get(type);
+    }
+
+    private void checkType(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.ENUM) {
+            throw new CodegenException(type.getQualifiedName() + ": only classes and enums are supported by generated schemas", type);
+        }
+        checkAccessible(type, type);
+        checkAnnotations(type);
+        for (TypeMirror iface : type.getInterfaces()) {
+            checkAnnotations(types.asElement(iface));
+        }
+    }
+
+    private void checkAccessible(Element element, Element reported) {
+        if (!element.getModifiers().contains(Modifier.PUBLIC) && (element.getModifiers().contains(Modifier.PRIVATE)
+                || !elements.getPackageOf(element).getQualifiedName().contentEquals(packageName))) {
+            throw new CodegenException(element + " is not accessible from the generated schema provider", reported);
+        }
+    }
+
+    private void checkAnnotations(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String name = annotation.getAnnotationType().asElement().getSimpleName().toString();
+            if (UNSUPPORTED_ANNOTATIONS.contains(name)) {
+                throw new CodegenException("@" + name + " is not supported by generated schemas", element);
+            }
+        }
+    }
+
+    private void generateEnum(TypeElement type) {
+        String typeName = typeName(type);
+        methods.append("\n    private static graphql.schema.GraphQLEnumType ").append(typeMethods.get(type)).append("() {\n")
+                .append("        return graphql.schema.GraphQLEnumType.newEnum()\n")
+                .append("                .name(").append(literal(typeName)).append(")\n");
+        GraphQLDescription description = type.getAnnotation(GraphQLDescription.class);
+        if (description != null) {
+            methods.append("                .description(").append(literal(description.value())).append(")\n");
+        }
+        for (VariableElement constant : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (constant.getKind() != ElementKind.ENUM_CONSTANT) {
+                continue;
+            }
+            GraphQLName name = constant.getAnnotation(GraphQLName.class);
+            GraphQLDescription constantDescription = constant.getAnnotation(GraphQLDescription.class);
+            String valueName = name == null ? constant.getSimpleName().toString() : name.value();
+            methods.append("                .value(").append(literal(valueName)).append(", ")
+                    .append(type.getQualifiedName()).append('.').append(constant.getSimpleName()).append(", ")
+                    .append(literal(constantDescription == null ? valueName : constantDescription.value())).append(")\n");
+        }
+        methods.append("                .build();\n    }\n");
+    }
+
+    private void generateObject(TypeElement type) {
+        String typeName = typeName(type);
+        StringBuilder fields = new StringBuilder();
+        StringBuilder fetchers = new StringBuilder();
+        Set<String> fieldNames = new HashSet<>();
+
+        List<ExecutableElement> publicMethods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC)) {
+                publicMethods.add(method);
+            }
+        }
+        publicMethods.sort(Comparator.comparing(method -> method.getSimpleName().toString()));
+        for (ExecutableElement method : publicMethods) {
+            if (isFieldMethod(method)) {
+                generateMethodField(type, typeName, method, fieldNames, fields, fetchers);
+            }
+        }
+        for (VariableElement field : getAllFields(type).values()) {
+            if (!field.getModifiers().contains(Modifier.STATIC) && isFieldVariable(field)) {
+                generateVariableField(type, typeName, field, fieldNames, fields, fetchers);
+            }
+        }
+
+        methods.append("\n    private graphql.schema.GraphQLObjectType ").append(typeMethods.get(type))
+                .append("(graphql.schema.GraphQLCodeRegistry.Builder codeRegistry, java.util.Map<String, graphql.schema.GraphQLObjectType> connections) {\n")
+                .append(fetchers)
+                .append("        return graphql.schema.GraphQLObjectType.newObject()\n")
+                .append("                .name(").append(literal(typeName)).append(")\n");
+        GraphQLDescription description = type.getAnnotation(GraphQLDescription.class);
+        if (description != null) {
+            methods.append("                .description(").append(literal(description.value())).append(")\n");
+        }
+        methods.append(fields).append("                .build();\n    }\n");
+    }
+
+    private void generateMethodField(TypeElement type, String typeName, ExecutableElement method, Set<String> fieldNames,
+                                     StringBuilder fields, StringBuilder fetchers) {
+        checkAnnotations(method);
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            throw new CodegenException("A field method can't return void", method);
+        }
+        String fieldName = fieldName(method);
+        addFieldName(fieldNames, fieldName, method);
+
+        String outputType = graphQLType(method.getReturnType(), method, false, true);
+        Connection connection = connection(method, method.getReturnType(), outputType);
+
+        StringBuilder field = new StringBuilder();
+        field.append("                .field(graphql.schema.GraphQLFieldDefinition.newFieldDefinition()\n")
+                .append("                        .name(").append(literal(fieldName)).append(")\n")
+                .append("                        .type(").append(connection == null ? outputType : connection.type).append(")\n");
+        if (connection != null) {
+            field.append("                        .arguments(").append(connection.relay).append(".getConnectionFieldArguments())\n");
+        }
+
+        List<String> arguments = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            if (isClass(parameter.asType(), DATA_FETCHING_ENVIRONMENT)) {
+                arguments.add("environment");
+                continue;
+            }
+            checkAnnotations(parameter);
+            GraphQLName name = parameter.getAnnotation(GraphQLName.class);
+            String argumentName = toGraphqlName(name == null ? parameter.getSimpleName().toString() : name.value());
+            field.append("                        .argument(graphql.schema.GraphQLArgument.newArgument()\n")
+                    .append("                                .name(").append(literal(argumentName)).append(")\n")
+                    .append("                                .type(").append(graphQLType(parameter.asType(), parameter, true, true)).append(")\n");
+            GraphQLDescription description = parameter.getAnnotation(GraphQLDescription.class);
+            if (description != null) {
+                field.append("                                .description(").append(literal(description.value())).append(")\n");
+            }
+            field.append("                                .build())\n");
+            arguments.add("(" + boxedName(parameter.asType()) + ") environment.getArgument(" + literal(argumentName) + ")");
+        }
+        appendDescription(field, method);
+
+        String fetcher = customDataFetcher(method);
+        if (fetcher == null) {
+            String invocation = method.getSimpleName() + "(" + String.join(", ", arguments) + ")";
+            fetcher = method.getModifiers().contains(Modifier.STATIC) ?
+                    "environment -> " + ((TypeElement) method.getEnclosingElement()).getQualifiedName() + "." + invocation :
+                    sourceFetcher(type, invocation, method.getSimpleName().toString(), null);
+        }
+        appendFetcher(fetchers, typeName, fieldName, connection == null ? fetcher : connection.fetcher(fetcher));
+        fields.append(field);
+    }
+
+    private void generateVariableField(TypeElement type, String typeName, VariableElement variable, Set<String> fieldNames,
+                                       StringBuilder fields, StringBuilder fetchers) {
+        checkAnnotations(variable);
+        String fieldName = fieldName(variable);
+        addFieldName(fieldNames, fieldName, variable);
+
+        String outputType = graphQLType(variable.asType(), variable, false, true);
+        Connection connection = connection(variable, variable.asType(), outputType);
+
+        StringBuilder field = new StringBuilder();
+        field.append("                .field(graphql.schema.GraphQLFieldDefinition.newFieldDefinition()\n")
+                .append("                        .name(").append(literal(fieldName)).append(")\n")
+                .append("                        .type(").append(connection == null ? outputType : connection.type).append(")\n");
+        if (connection != null) {
+            field.append("                        .arguments(").append(connection.relay).append(".getConnectionFieldArguments())\n");
+        }
+        appendDescription(field, variable);
+
+        String fetcher = customDataFetcher(variable);
+        if (fetcher == null) {
+            String access = variableAccess(type, variable, outputType);
+            String name = variable.getSimpleName().toString();
+            // fluent getters are fetched like methods, getters and fields like properties
+            String fluentGetter = Character.toLowerCase(name.charAt(0)) + name.substring(1);
+            fetcher = sourceFetcher(type, access, access.equals(fluentGetter + "()") ? fluentGetter : null, name);
+        }
+        appendFetcher(fetchers, typeName, fieldName, connection == null ? fetcher : connection.fetcher(fetcher));
+        fields.append(field);
+    }
+
+    /**
+     * The access to the value of a field, the same as the data fetcher of the runtime processor: a getter, a fluent
+     * getter, or the field itself
+     */
+    private String variableAccess(TypeElement type, VariableElement variable, String outputType) {
+        String name = variable.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        boolean isBoolean = outputType.endsWith("Scalars.GraphQLBoolean") || outputType.endsWith("Scalars.GraphQLBoolean)");
+        if (isBoolean) {
+            if (hasPublicMethod(type, "is" + capitalized)) {
+                return "is" + capitalized + "()";
+            } else if (hasPublicMethod(type, "get" + capitalized)) {
+                return "get" + capitalized + "()";
+            }
+        } else if (hasPublicMethod(type, "get" + capitalized)) {
+            return "get" + capitalized + "()";
+        } else if (hasPublicMethod(type, Character.toLowerCase(name.charAt(0)) + name.substring(1))) {
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1) + "()";
+        }
+        checkAccessible(variable, variable);
+        return name;
+    }
+
+    private boolean hasPublicMethod(TypeElement type, String name) {
+        return ElementFilter.methodsIn(elements.getAllMembers(type)).stream().anyMatch(method ->
+                method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().isEmpty()
+                        && method.getSimpleName().contentEquals(name));
+    }
+
+    /**
+     * The data fetcher of a field accessed on the source object. When the source object isn't an instance of the type,
+     * it falls back the same way as the data fetchers of the runtime processor: methods are invoked on an instance of
+     * the type wrapping the source object, or else the property with the name of the method is read on the source
+     * object, and properties are read on the source object
+     *
+     * @param method the name of the method the access invokes, or null for the access to a property
+     */
+    private String sourceFetcher(TypeElement type, String access, String method, String property) {
+        String typeName = type.getQualifiedName().toString();
+        String instance = method == null ? "source" : "source instanceof " + typeName + " ? source : wrapping(" + typeName + ".class, source)";
+        String fallback = method == null ? "graphql.schema.PropertyDataFetcher.fetching(" + literal(property) + ").get(environment)" :
+                "property(source, " + literal(method) + ")";
+        return "environment -> {\n"
+                + "            Object source = environment.getSource();\n"
+                + "            if (source == null) {\n"
+                + "                return null;\n"
+                + "            }\n"
+                + "            Object instance = " + instance + ";\n"
+                + "            return instance instanceof " + typeName + " ? ((" + typeName + ") instance)." + access + " : " + fallback + ";\n"
+                + "        }";
+    }
+
+    private String customDataFetcher(Element element) {
+        GraphQLDataFetcher dataFetcher = element.getAnnotation(GraphQLDataFetcher.class);
+        if (dataFetcher == null) {
+            return null;
+        }
+        if (dataFetcher.args().length > 0 || dataFetcher.firstArgIsTargetName()) {
+            throw new CodegenException("Only data fetchers created with their default constructor are supported by generated schemas", element);
+        }
+        return "new " + defaultConstructed(typeOf(dataFetcher::value), element) + "()";
+    }
+
+    private String defaultConstructed(TypeMirror type, Element element) {
+        TypeElement typeElement = (TypeElement) types.asElement(type);
+        checkAccessible(typeElement, element);
+        boolean hasDefaultConstructor = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC));
+        if (!hasDefaultConstructor) {
+            throw new CodegenException(typeElement.getQualifiedName() + " has no public default constructor", element);
+        }
+        return typeElement.getQualifiedName().toString();
+    }
+
+    private void appendFetcher(StringBuilder fetchers, String typeName, String fieldName, String fetcher) {
+        fetchers.append("        codeRegistry.dataFetcher(graphql.schema.FieldCoordinates.coordinates(")
+                .append(literal(typeName)).append(", ").append(literal(fieldName))
+                .append("), (graphql.schema.DataFetcher<?>) ").append(fetcher).append(");\n");
+    }
+
+    private void appendDescription(StringBuilder field, Element element) {
+        GraphQLDescription description = element.getAnnotation(GraphQLDescription.class);
+        if (description != null) {
+            field.append("                        .description(").append(literal(description.value())).append(")\n");
+        }
+        GraphQLDeprecate deprecate = element.getAnnotation(GraphQLDeprecate.class);
+        if (deprecate != null) {
+            field.append("                        .deprecate(").append(literal(deprecate.value().isEmpty() ? "Deprecated" : deprecate.value())).append(")\n");
+        } else if (element.getAnnotation(Deprecated.class) != null) {
+            field.append("                        .deprecate(\"Deprecated\")\n");
+        }
+        field.append("                        .build())\n");
+    }
+
+    private void addFieldName(Set<String> fieldNames, String fieldName, Element element) {
+        if (!fieldNames.add(fieldName)) {
+            throw new CodegenException("The field name " + fieldName + " is used more than once", element);
+        }
+    }
+
+    private Connection connection(Element element, TypeMirror type, String listType) {
+        GraphQLConnection annotation = element.getAnnotation(GraphQLConnection.class);
+        if (annotation == null) {
+            return null;
+        }
+        boolean nonNull = listType.startsWith("graphql.schema.GraphQLNonNull.nonNull(");
+        String list = nonNull ? listType.substring("graphql.schema.GraphQLNonNull.nonNull(".length(), listType.length() - 1) : listType;
+        if (!list.startsWith("graphql.schema.GraphQLList.list(graphql.schema.GraphQLTypeReference.typeRef(")
+                || !isObjectList(type)) {
+            return null;
+        }
+        if (!isClass(typeOf(annotation::validator), DEFAULT_CONNECTION_VALIDATOR)) {
+            throw new CodegenException("Only the default connection validator is supported by generated schemas", element);
+        }
+        if (element.getKind() == ElementKind.FIELD && element.getAnnotation(GraphQLDataFetcher.class) == null) {
+            throw new CodegenException("Please don't use @GraphQLConnection on " + element.getSimpleName()
+                    + " without @GraphQLDataFetcher", element);
+        }
+        if (!types.isAssignable(types.erasure(type), types.erasure(elements.getTypeElement(PAGINATED_DATA).asType()))) {
+            throw new CodegenException(element.getSimpleName() + " type must be PaginatedData", element);
+        }
+        String node = list.substring("graphql.schema.GraphQLList.list(".length(), list.length() - 1);
+        String name = annotation.name().isEmpty() ? node.substring(node.indexOf('"') + 1, node.lastIndexOf('"')) : annotation.name();
+
+        TypeMirror relayType = typeOf(annotation::connectionType);
+        String relay = sharedInstance(isClass(relayType, FAKE_RELAY) ? "graphql.relay.Relay" : defaultConstructed(relayType, element));
+        String connectionType = "connection(connections, " + relay + ", " + literal(name) + ", " + node + ")";
+
+        TypeElement connectionFetcher = (TypeElement) types.asElement(typeOf(annotation::connectionFetcher));
+        checkAccessible(connectionFetcher, element);
+        String executor = null;
+        if (annotation.async()) {
+            TypeMirror executorType = typeOf(annotation::executor);
+            executor = isClass(executorType, EXECUTOR) ? "java.util.concurrent.ForkJoinPool.commonPool()" :
+                    sharedInstance(defaultConstructed(executorType, element));
+        }
+        return new Connection(nonNull ? "graphql.schema.GraphQLNonNull.nonNull(" + connectionType + ")" : connectionType,
+                relay, connectionFetcher.getQualifiedName().toString(), annotation.stateful(), executor);
+    }
+
+    private boolean isObjectList(TypeMirror type) {
+        TypeMirror item = type.getKind() == TypeKind.ARRAY ? ((ArrayType) type).getComponentType() :
+                ((DeclaredType) type).getTypeArguments().get(0);
+        return types.asElement(item).getKind() == ElementKind.CLASS;
+    }
+
+    private String sharedInstance(String className) {
+        return sharedInstances.computeIfAbsent("new " + className + "()", key -> "instance" + sharedInstances.size());
+    }
+
+    /**
+     * Builds the expression of the graphql type of a java type, the same as the default type function of the runtime
+     * processor
+     */
+    private String graphQLType(TypeMirror type, Element element, boolean input, boolean topLevel) {
+        String result;
+        String className = qualifiedName(type);
+        if (hasTypeAnnotation(type, element, topLevel, GraphQLID.class)
+                && Arrays.asList("java.lang.String", "java.lang.Integer", "int").contains(className)) {
+            result = "graphql.Scalars.GraphQLID";
+        } else if (SCALARS.containsKey(className)) {
+            result = "graphql.Scalars." + SCALARS.get(className);
+        } else if (type.getKind() == TypeKind.ARRAY && !input) {
+            result = "graphql.schema.GraphQLList.list(" + graphQLType(((ArrayType) type).getComponentType(), element, false, false) + ")";
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            TypeElement typeElement = (TypeElement) declaredType.asElement();
+            if (className.equals("java.util.Optional") && !declaredType.getTypeArguments().isEmpty()) {
+                return graphQLType(declaredType.getTypeArguments().get(0), element, input, false);
+            } else if (!input && isIterable(declaredType)) {
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    throw new CodegenException("The type of the items of " + element.getSimpleName() + " is unknown", element);
+                }
+                result = "graphql.schema.GraphQLList.list(" + graphQLType(declaredType.getTypeArguments().get(0), element, false, false) + ")";
+            } else if (typeElement.getKind() == ElementKind.ENUM || (!input && typeElement.getKind() == ElementKind.CLASS)) {
+                typeMethod(typeElement);
+                result = "graphql.schema.GraphQLTypeReference.typeRef(" + literal(typeName(typeElement)) + ")";
+            } else {
+                throw unsupportedType(type, element, input);
+            }
+        } else {
+            throw unsupportedType(type, element, input);
+        }
+        if (hasTypeAnnotation(type, element, topLevel, GraphQLNonNull.class)) {
+            result = "graphql.schema.GraphQLNonNull.nonNull(" + result + ")";
+        }
+        return result;
+    }
+
+    /**
+     * Type annotations written before a method or a field are read on its type, and on the element as well when
+     * the annotation also targets declarations
+     */
+    private boolean hasTypeAnnotation(TypeMirror type, Element element, boolean topLevel, Class<? extends Annotation> annotation) {
+        if (isAnnotationPresent(type.getAnnotationMirrors(), annotation)) {
+            return true;
+        }
+        return topLevel && isAnnotationPresent(element.getAnnotationMirrors(), annotation);
+    }
+
+    private static boolean isAnnotationPresent(List<? extends AnnotationMirror> mirrors, Class<? extends Annotation> annotation) {
+        for (AnnotationMirror mirror : mirrors) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CodegenException unsupportedType(TypeMirror type, Element element, boolean input) {
+        return new CodegenException("The " + (input ? "argument" : "field") + " type " + type
+                + " is not supported by generated schemas", element);
+    }
+
+    private boolean isIterable(DeclaredType type) {
+        TypeMirror iterable = types.erasure(elements.getTypeElement("java.lang.Iterable").asType());
+        return types.isAssignable(types.erasure(type), iterable);
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return qualifiedName(type);
+    }
+
+    /**
+     * @return the qualified name of the erasure of a type, without its type annotations
+     */
+    private String qualifiedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+        }
+        return types.erasure(type).toString();
+    }
+
+    private boolean isFieldMethod(ExecutableElement method) {
+        Deque<TypeElement> queue = new ArrayDeque<>();
+        queue.add((TypeElement) method.getEnclosingElement());
+        while (!queue.isEmpty()) {
+            TypeElement type = queue.poll();
+            for (ExecutableElement candidate : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (candidate.getSimpleName().equals(method.getSimpleName()) && sameParameters(candidate, method)) {
+                    Boolean found = isGraphQLField(candidate);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+            Boolean found = isGraphQLField(type);
+            if (found != null) {
+                return found;
+            }
+            for (TypeMirror iface : type.getInterfaces()) {
+                queue.add((TypeElement) types.asElement(iface));
+            }
+            if (type.getSuperclass().getKind() == TypeKind.DECLARED) {
+                queue.add((TypeElement) types.asElement(type.getSuperclass()));
+            }
+        }
+        return false;
+    }
+
+    private boolean sameParameters(ExecutableElement a, ExecutableElement b) {
+        if (a.getParameters().size() != b.getParameters().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.getParameters().size(); i++) {
+            if (!types.isSameType(types.erasure(a.getParameters().get(i).asType()), types.erasure(b.getParameters().get(i).asType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFieldVariable(VariableElement variable) {
+        Boolean found = isGraphQLField(variable);
+        if (found != null) {
+            return found;
+        }
+        for (Element type = variable.getEnclosingElement(); type != null; type = superclass((TypeElement) type)) {
+            found = isGraphQLField(type);
+            if (found != null) {
+                return found;
+            }
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        return type.getSuperclass().getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(type.getSuperclass()) : null;
+    }
+
+    private Boolean isGraphQLField(Element element) {
+        GraphQLField annotation = element.getAnnotation(GraphQLField.class);
+        return annotation == null ? null : annotation.value();
+    }
+
+    private Map<String, VariableElement> getAllFields(TypeElement type) {
+        TypeElement superclass = superclass(type);
+        Map<String, VariableElement> fields = superclass == null ? new TreeMap<>() : getAllFields(superclass);
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            fields.put(field.getSimpleName().toString(), field);
+        }
+        return fields;
+    }
+
+    private String typeName(TypeElement type) {
+        GraphQLName name = type.getAnnotation(GraphQLName.class);
+        return toGraphqlName(name == null ? type.getSimpleName().toString() : name.value());
+    }
+
+    private String fieldName(Element element) {
+        GraphQLName name = element.getAnnotation(GraphQLName.class);
+        if (element.getAnnotation(GraphQLPrettify.class) != null && name == null) {
+            String prettified = element.getSimpleName().toString().replaceFirst("^(is|get|set)(.+)", "$2");
+            return toGraphqlName(Character.toLowerCase(prettified.charAt(0)) + prettified.substring(1));
+        }
+        return toGraphqlName(name == null ? element.getSimpleName().toString() : name.value());
+    }
+
+    private boolean isClass(TypeMirror type, String className) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) types.asElement(type)).getQualifiedName().contentEquals(className);
+    }
+
+    /**
+     * Reads a class attribute of an annotation, which is only available as a type mirror at compile time
+     */
+    private static TypeMirror typeOf(Supplier<Class<?>> attribute) {
+        try {
+            attribute.get();
+            throw new IllegalStateException("The class of the annotation attribute is already compiled");
+        } catch (MirroredTypeException e) {
+            return e.getTypeMirror();
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static class Connection {
+        private final String type;
+        private final String relay;
+        private final String connectionFetcher;
+        private final boolean stateful;
+        private final String executor;
+
+        private Connection(String type, String relay, String connectionFetcher, boolean stateful, String executor) {
+            this.type = type;
+            this.relay = relay;
+            this.connectionFetcher = connectionFetcher;
+            this.stateful = stateful;
+            this.executor = executor;
+        }
+
+        private String fetcher(String fetcher) {
+            String connection = "new graphql.annotations.dataFetchers.connection.ConnectionDataFetcher(" + connectionFetcher
+                    + ".class, (graphql.schema.DataFetcher<?>) " + fetcher + ", " + stateful + ")";
+            if (executor == null) {
+                return connection;
+            }
+            return "new graphql.annotations.dataFetchers.connection.AsyncConnectionDataFetcher(" + connection + ", " + executor + ")";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.codegen;
+
+import graphql.annotations.annotationTypes.GraphQLSchemaProvider;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * Generates a {@link graphql.annotations.SchemaProvider} for every class annotated with {@link GraphQLSchemaProvider}.
+ * The schema is read from the annotations at compile time, and the data fetchers are generated as direct calls to the
+ * annotated methods and fields.
+ */
+@SupportedAnnotationTypes("graphql.annotations.annotationTypes.GraphQLSchemaProvider")
+public class SchemaProviderProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GraphQLSchemaProvider.class)) {
+            try {
+                SchemaProviderGenerator generator = new SchemaProviderGenerator(processingEnv, (TypeElement) element);
+                String source = generator.generate();
+                JavaFileObject file = processingEnv.getFiler().createSourceFile(generator.getQualifiedName(), element);
+                try (Writer writer = file.openWriter()) {
+                    writer.write(source);
+                }
+            } catch (CodegenException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.getElement());
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the schema provider: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+}
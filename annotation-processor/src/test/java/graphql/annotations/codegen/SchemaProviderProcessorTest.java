@@ -0,0 +1,300 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.codegen;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.AnnotationsSchemaCreator;
+import graphql.annotations.SchemaProvider;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SchemaProviderProcessorTest {
+    private static final String QUERY = "package sample;\n" +
+            "import graphql.annotations.annotationTypes.*;\n" +
+            "import graphql.annotations.connection.*;\n" +
+            "import graphql.schema.DataFetchingEnvironment;\n" +
+            "import java.util.*;\n" +
+            "@GraphQLSchemaProvider(mutation = Mutation.class)\n" +
+            "@GraphQLDescription(\"the \\\"query\\\"\")\n" +
+            "public class Query {\n" +
+            "    @GraphQLField @GraphQLDataFetcher(Custom.class) public String custom;\n" +
+            "    @GraphQLField public int counter = 7;\n" +
+            "    @GraphQLField public String hello(@GraphQLName(\"name\") @GraphQLDescription(\"who\") String name) { return \"hello \" + name; }\n" +
+            "    @GraphQLField @GraphQLNonNull public List<Book> books() { return Arrays.asList(new Book(\"a\", Color.RED), new Book(\"b\", Color.BLUE)); }\n" +
+            "    @GraphQLField public static int answer() { return 42; }\n" +
+            "    @GraphQLField @GraphQLPrettify public Color getFavorite(@GraphQLName(\"color\") Color color) { return color; }\n" +
+            "    @GraphQLField public long total(@GraphQLName(\"a\") long a, @GraphQLName(\"b\") Long b, DataFetchingEnvironment environment) { return a + b; }\n" +
+            "    @GraphQLField @GraphQLConnection public PaginatedData<Book> shelf() {\n" +
+            "        return new AbstractPaginatedData<Book>(false, true, books()) { public String getCursor(Book book) { return book.title; } };\n" +
+            "    }\n" +
+            "    @GraphQLField @GraphQLDeprecate(\"use books\") public Book[] legacy() { return books().toArray(new Book[0]); }\n" +
+            "    @GraphQLField public Optional<String> maybe() { return Optional.of(\"yes\"); }\n" +
+            "    @GraphQLField @GraphQLID public String id() { return \"1\"; }\n" +
+            "    public String notAField() { return \"no\"; }\n" +
+            "}\n";
+    private static final String BOOK = "package sample;\n" +
+            "import graphql.annotations.annotationTypes.*;\n" +
+            "@GraphQLField\n" +
+            "@GraphQLName(\"Livre\")\n" +
+            "public class Book {\n" +
+            "    public String title;\n" +
+            "    private Color color;\n" +
+            "    private boolean available = true;\n" +
+            "    @GraphQLField(false) public int hidden;\n" +
+            "    public Book(String title, Color color) { this.title = title; this.color = color; }\n" +
+            "    public Color getColor() { return color; }\n" +
+            "    public boolean isAvailable() { return available; }\n" +
+            "}\n";
+    private static final String COLOR = "package sample;\n" +
+            "import graphql.annotations.annotationTypes.*;\n" +
+            "@GraphQLDescription(\"colors\")\n" +
+            "public enum Color {\n" +
+            "    RED,\n" +
+            "    @GraphQLName(\"blue\") @GraphQLDescription(\"the blue\") BLUE\n" +
+            "}\n";
+    private static final String MUTATION = "package sample;\n" +
+            "import graphql.annotations.annotationTypes.*;\n" +
+            "public class Mutation {\n" +
+            "    @GraphQLField public String reset() { return \"done\"; }\n" +
+            "}\n";
+    private static final String CUSTOM = "package sample;\n" +
+            "import graphql.schema.*;\n" +
+            "public class Custom implements DataFetcher<String> {\n" +
+            "    public String get(DataFetchingEnvironment environment) { return \"custom\"; }\n" +
+            "}\n";
+
+    private static final String EXECUTED_QUERY = "{ custom counter hello(name: \"x\") books { title getColor isAvailable color available } " +
+            "answer favorite(color: blue) total(a: 1, b: 2) shelf(first: 1) { edges { cursor node { title } } pageInfo { hasNextPage } } " +
+            "legacy { title } maybe id }";
+
+    private static class Source extends SimpleJavaFileObject {
+        private final String code;
+
+        Source(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class Compilation {
+        private final boolean success;
+        private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+        private final Path classes;
+
+        Compilation(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, Path classes) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.classes = classes;
+        }
+
+        ClassLoader classLoader() throws IOException {
+            return new URLClassLoader(new URL[]{classes.toUri().toURL()}, SchemaProviderProcessorTest.class.getClassLoader());
+        }
+
+        String errors() {
+            return diagnostics.stream().filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                    .map(d -> d.getMessage(null)).collect(Collectors.joining("\n"));
+        }
+    }
+
+    private final List<Path> outputs = new ArrayList<>();
+
+    @AfterMethod
+    public void deleteOutputs() throws IOException {
+        for (Path output : outputs) {
+            try (Stream<Path> files = Files.walk(output)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+        outputs.clear();
+    }
+
+    private Compilation compile(Source... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path classes = Files.createTempDirectory("classes");
+        outputs.add(classes);
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classes.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(classes.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classPath());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Collections.singletonList("-parameters"), null, Arrays.asList(sources));
+            task.setProcessors(Collections.singletonList(new SchemaProviderProcessor()));
+            boolean success = task.call();
+            return new Compilation(success, diagnostics.getDiagnostics(), classes);
+        }
+    }
+
+    private static List<File> classPath() {
+        Set<File> files = new LinkedHashSet<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            files.add(new File(entry));
+        }
+        for (Class<?> aClass : Arrays.asList(GraphQLSchema.class, AnnotationsSchemaCreator.class)) {
+            files.add(new File(aClass.getProtectionDomain().getCodeSource().getLocation().getPath()));
+        }
+        return new ArrayList<>(files);
+    }
+
+    private Compilation compileSample() throws IOException {
+        return compile(new Source("sample.Query", QUERY), new Source("sample.Book", BOOK), new Source("sample.Color", COLOR),
+                new Source("sample.Mutation", MUTATION), new Source("sample.Custom", CUSTOM));
+    }
+
+    private static Object execute(GraphQLSchema schema, Object root) {
+        return execute(schema, EXECUTED_QUERY, root);
+    }
+
+    private static Object execute(GraphQLSchema schema, String query, Object root) {
+        ExecutionResult result = GraphQL.newGraphQL(schema).build()
+                .execute(ExecutionInput.newExecutionInput().query(query).root(root).build());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        return result.getData();
+    }
+
+    @Test
+    public void process_supportedSchema_theGeneratedSchemaIsTheSameAsTheRuntimeSchema() throws Exception {
+        Compilation compilation = compileSample();
+        assertTrue(compilation.success, compilation.errors());
+        ClassLoader classLoader = compilation.classLoader();
+        Class<?> query = classLoader.loadClass("sample.Query");
+
+        GraphQLSchema generated = ((SchemaProvider) classLoader.loadClass("sample.QuerySchemaProvider").newInstance()).getSchema();
+        GraphQLSchema runtime = AnnotationsSchemaCreator.newAnnotationsSchema().setAnnotationsProcessor(new GraphQLAnnotations())
+                .query(query).mutation(classLoader.loadClass("sample.Mutation")).build();
+
+        assertEquals(new SchemaPrinter().print(generated), new SchemaPrinter().print(runtime));
+        assertEquals(execute(generated, query.newInstance()), execute(runtime, query.newInstance()));
+    }
+
+    @Test
+    public void process_schemaProvider_createsANewSchemaEveryTime() throws Exception {
+        Compilation compilation = compileSample();
+        assertTrue(compilation.success, compilation.errors());
+        ClassLoader classLoader = compilation.classLoader();
+        SchemaProvider provider = (SchemaProvider) classLoader.loadClass("sample.QuerySchemaProvider").newInstance();
+
+        Object first = execute(provider.getSchema(), classLoader.loadClass("sample.Query").newInstance());
+        Object second = execute(provider.getSchema(), classLoader.loadClass("sample.Query").newInstance());
+
+        assertEquals(second, first);
+    }
+
+    @Test
+    public void process_sourceOfAnotherType_fetchesTheFieldsLikeTheRuntimeSchema() throws Exception {
+        Compilation compilation = compile(new Source("sample.Query", "package sample;\n" +
+                "import graphql.annotations.annotationTypes.*;\n" +
+                "import java.util.Map;\n" +
+                "@GraphQLSchemaProvider\n" +
+                "public class Query {\n" +
+                "    private Map<String, Object> values;\n" +
+                "    @GraphQLField public String title;\n" +
+                "    public Query() { }\n" +
+                "    public Query(Map<String, Object> values) { this.values = values; }\n" +
+                "    @GraphQLField public String wrapped() { return (String) values.get(\"wrapped\"); }\n" +
+                "}\n"), new Source("sample.Root", "package sample;\n" +
+                "public class Root {\n" +
+                "    public String title = \"root title\";\n" +
+                "    public String wrapped = \"root property\";\n" +
+                "}\n"));
+        assertTrue(compilation.success, compilation.errors());
+        ClassLoader classLoader = compilation.classLoader();
+
+        GraphQLSchema generated = ((SchemaProvider) classLoader.loadClass("sample.QuerySchemaProvider").newInstance()).getSchema();
+        GraphQLSchema runtime = AnnotationsSchemaCreator.newAnnotationsSchema().setAnnotationsProcessor(new GraphQLAnnotations())
+                .query(classLoader.loadClass("sample.Query")).build();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", "map title");
+        values.put("wrapped", "wrapped value");
+        Object root = classLoader.loadClass("sample.Root").newInstance();
+        for (Object source : Arrays.asList(values, root)) {
+            Object data = execute(generated, "{ title wrapped }", source);
+            assertEquals(data, execute(runtime, "{ title wrapped }", source));
+        }
+        assertEquals(execute(generated, "{ title wrapped }", values).toString(), "{title=map title, wrapped=wrapped value}");
+        assertEquals(execute(generated, "{ title wrapped }", root).toString(), "{title=root title, wrapped=root property}");
+    }
+
+    @Test
+    public void process_unsupportedType_compilationFails() throws IOException {
+        Compilation compilation = compile(new Source("sample.Query", "package sample;\n" +
+                "import graphql.annotations.annotationTypes.*;\n" +
+                "@GraphQLSchemaProvider\n" +
+                "public class Query {\n" +
+                "    @GraphQLField public Runnable task() { return null; }\n" +
+                "}\n"));
+
+        assertFalse(compilation.success);
+        assertTrue(compilation.errors().contains("The field type java.lang.Runnable is not supported by generated schemas"), compilation.errors());
+    }
+
+    @Test
+    public void process_unsupportedAnnotation_compilationFails() throws IOException {
+        Compilation compilation = compile(new Source("sample.Query", "package sample;\n" +
+                "import graphql.annotations.annotationTypes.*;\n" +
+                "@GraphQLSchemaProvider\n" +
+                "public class Query {\n" +
+                "    @GraphQLField @GraphQLInvokeDetached public String detached() { return null; }\n" +
+                "}\n"));
+
+        assertFalse(compilation.success);
+        assertTrue(compilation.errors().contains("@GraphQLInvokeDetached is not supported by generated schemas"), compilation.errors());
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.schema.GraphQLSchema;
+import org.openjdk.jmh.annotations.*;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+
+/**
+ * Measures {@link AnnotationsSchemaCreator} on synthetic schemas of 10, 100 and 1000 object types.
+ * The types are generated and compiled once per trial. Every type has scalar fields, a field with an argument and
+ * references to two types generated before it, so the schema is connected but the type retrieval never recurses deeply.
+ * Each invocation builds the schema with a new {@link GraphQLAnnotations}, so only the class level caches survive
+ * between invocations, as they do when a schema is rebuilt in a running application
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBuildBenchmark {
+
+    private static final String PACKAGE = "graphql.annotations.synthetic";
+
+    @Param({"10", "100", "1000"})
+    public int types;
+
+    private Path sources;
+    private Class<?> query;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        sources = Files.createTempDirectory("schema-build-benchmark");
+        Path packageDir = Files.createDirectories(sources.resolve(PACKAGE.replace('.', '/')));
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < types; i++) {
+            files.add(write(packageDir, "Type" + i, typeSource(i)));
+        }
+        files.add(write(packageDir, "Query", querySource()));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The schema build benchmark generates its types and has to run on a JDK");
+        }
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add("-d");
+        arguments.add(sources.toString());
+        arguments.addAll(files);
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Unable to compile the synthetic schema");
+        }
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{sources.toUri().toURL()}, getClass().getClassLoader());
+        query = loader.loadClass(PACKAGE + ".Query");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(sources)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public GraphQLSchema build() {
+        return newAnnotationsSchema().query(query).setAnnotationsProcessor(new GraphQLAnnotations()).build();
+    }
+
+    private static String write(Path dir, String name, String source) throws IOException {
+        Path file = dir.resolve(name + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return file.toString();
+    }
+
+    private static String typeSource(int i) {
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n")
+                .append("import graphql.annotations.annotationTypes.*;\n")
+                .append("public class Type").append(i).append(" {\n")
+                .append("  @GraphQLField @GraphQLID public String id;\n")
+                .append("  @GraphQLField public String name;\n")
+                .append("  @GraphQLField public int count;\n")
+                .append("  @GraphQLField public String describe(@GraphQLName(\"prefix\") String prefix) { return prefix + name; }\n");
+        if (i > 0) {
+            source.append("  @GraphQLField public Type").append(i / 2).append(" parent;\n")
+                    .append("  @GraphQLField public java.util.List<Type").append(i - 1).append("> siblings;\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private String querySource() {
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n")
+                .append("import graphql.annotations.annotationTypes.*;\n")
+                .append("public class Query {\n");
+        for (int i = 0; i < types; i++) {
+            source.append("  @GraphQLField public Type").append(i).append(" type").append(i).append(";\n");
+        }
+        return source.append("}\n").toString();
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLTypeExtension;
+import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.connection.NaivePaginatedData;
+import graphql.annotations.connection.PaginatedData;
+import graphql.annotations.dataFetchers.connection.StreamConnection;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.schema.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+
+/**
+ * Measures the resolution of a single field by the data fetchers the schema wires for every kind of field:
+ * a method, a public field, a field read through its getter, a method of a type extension and connections over
+ * {@link PaginatedData} and over a stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldResolutionBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    public static class Item {
+        @GraphQLField
+        public String id;
+
+        public Item(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class Query {
+        private static final List<Item> ITEMS = IntStream.range(0, 100).mapToObj(i -> new Item(String.valueOf(i))).collect(Collectors.toList());
+
+        @GraphQLField
+        public String field = "field";
+
+        @GraphQLField
+        private String property = "property";
+
+        public String getProperty() {
+            return property;
+        }
+
+        @GraphQLField
+        public String method() {
+            return "method";
+        }
+
+        @GraphQLField
+        @GraphQLConnection
+        public PaginatedData<Item> items() {
+            return new NaivePaginatedData<>(false, true, ITEMS.subList(0, PAGE_SIZE));
+        }
+    }
+
+    @GraphQLTypeExtension(Query.class)
+    public static class QueryExtension {
+        private final Query query;
+
+        public QueryExtension(Query query) {
+            this.query = query;
+        }
+
+        @GraphQLField
+        public String extension() {
+            return query.method();
+        }
+    }
+
+    private DataFetcher<?> method;
+    private DataFetcher<?> field;
+    private DataFetcher<?> property;
+    private DataFetcher<?> extension;
+    private DataFetcher<?> connection;
+    private DataFetchingEnvironment environment;
+    private DataFetchingEnvironment connectionEnvironment;
+
+    @Setup
+    public void setup() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).typeExtension(QueryExtension.class)
+                .setAnnotationsProcessor(new GraphQLAnnotations()).build();
+        GraphQLObjectType queryType = schema.getQueryType();
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry();
+        method = codeRegistry.getDataFetcher(queryType, queryType.getFieldDefinition("method"));
+        field = codeRegistry.getDataFetcher(queryType, queryType.getFieldDefinition("field"));
+        property = codeRegistry.getDataFetcher(queryType, queryType.getFieldDefinition("property"));
+        extension = codeRegistry.getDataFetcher(queryType, queryType.getFieldDefinition("extension"));
+        connection = codeRegistry.getDataFetcher(queryType, queryType.getFieldDefinition("items"));
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("first", PAGE_SIZE);
+        environment = newDataFetchingEnvironment().source(new Query()).arguments(new HashMap<>()).build();
+        connectionEnvironment = newDataFetchingEnvironment().source(new Query()).arguments(page).build();
+    }
+
+    @Benchmark
+    public Object method() throws Exception {
+        return method.get(environment);
+    }
+
+    @Benchmark
+    public Object field() throws Exception {
+        return field.get(environment);
+    }
+
+    @Benchmark
+    public Object property() throws Exception {
+        return property.get(environment);
+    }
+
+    @Benchmark
+    public Object extension() throws Exception {
+        return extension.get(environment);
+    }
+
+    @Benchmark
+    public Object paginatedConnection() throws Exception {
+        return connection.get(connectionEnvironment);
+    }
+
+    @Benchmark
+    public Object streamConnection() {
+        return new StreamConnection(Query.ITEMS.stream()).get(connectionEnvironment);
+    }
+}
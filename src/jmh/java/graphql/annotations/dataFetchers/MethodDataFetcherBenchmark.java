@@ -0,0 +1,104 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.annotationTypes.GraphQLBatched;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLInvokeDetached;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.DataFetchingEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+
+/**
+ * Compares the compiled {@link MethodDataFetcher} against the reflective dispatch it replaced
+ * (per call modifier and annotation checks followed by {@link Method#invoke})
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodDataFetcherBenchmark {
+
+    public static class Api {
+        @GraphQLField
+        public String name() {
+            return "name";
+        }
+
+        @GraphQLField
+        public static String staticName() {
+            return "staticName";
+        }
+    }
+
+    private Method method;
+    private Method staticMethod;
+    private MethodDataFetcher<String> fetcher;
+    private MethodDataFetcher<String> staticFetcher;
+    private DataFetchingEnvironment environment;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        ProcessingElementsContainer container = new ProcessingElementsContainer();
+        method = Api.class.getMethod("name");
+        staticMethod = Api.class.getMethod("staticName");
+        fetcher = new MethodDataFetcher<>(method, container.getDefaultTypeFunction(), container);
+        staticFetcher = new MethodDataFetcher<>(staticMethod, container.getDefaultTypeFunction(), container);
+        environment = newDataFetchingEnvironment().source(new Api()).arguments(new HashMap<>()).build();
+    }
+
+    @Benchmark
+    public Object compiled() {
+        return fetcher.get(environment);
+    }
+
+    @Benchmark
+    public Object compiledStatic() {
+        return staticFetcher.get(environment);
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        return reflectiveGet(method);
+    }
+
+    @Benchmark
+    public Object reflectiveStatic() throws Exception {
+        return reflectiveGet(staticMethod);
+    }
+
+    private Object reflectiveGet(Method method) throws Exception {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return method.invoke(null, new ArrayList<>().toArray());
+        }
+        Object obj;
+        if (method.isAnnotationPresent(GraphQLBatched.class) || method.isAnnotationPresent(GraphQLInvokeDetached.class)) {
+            obj = method.getDeclaringClass().newInstance();
+        } else {
+            obj = environment.getSource();
+        }
+        return method.invoke(obj, new ArrayList<>().toArray());
+    }
+}
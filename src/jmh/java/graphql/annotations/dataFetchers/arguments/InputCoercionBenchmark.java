@@ -0,0 +1,129 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.dataFetchers.MethodDataFetcher;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.DataFetchingEnvironment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+
+/**
+ * Measures the conversion of the arguments of a field into the parameters of its method, for a flat
+ * scalar argument and for an input object renamed with {@link GraphQLName} which nests a list of input objects
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputCoercionBenchmark {
+
+    public static class Address {
+        @GraphQLField
+        @GraphQLName("zip")
+        private String zipCode;
+
+        @GraphQLField
+        private String city;
+
+        public Address(@GraphQLName("zip") String zipCode, @GraphQLName("city") String city) {
+            this.zipCode = zipCode;
+            this.city = city;
+        }
+    }
+
+    @GraphQLName("Person")
+    public static class PersonInput {
+        @GraphQLField
+        @GraphQLName("fullName")
+        private String name;
+
+        @GraphQLField
+        private Integer age;
+
+        @GraphQLField
+        private List<Address> addresses;
+
+        public PersonInput(@GraphQLName("fullName") String name, @GraphQLName("age") Integer age,
+                           @GraphQLName("addresses") List<Address> addresses) {
+            this.name = name;
+            this.age = age;
+            this.addresses = addresses;
+        }
+    }
+
+    public static class Api {
+        @GraphQLField
+        public String flat(@GraphQLName("name") String name, @GraphQLName("age") Integer age) {
+            return name;
+        }
+
+        @GraphQLField
+        public String nested(@GraphQLName("person") PersonInput person) {
+            return person.name;
+        }
+    }
+
+    private MethodDataFetcher<String> flat;
+    private MethodDataFetcher<String> nested;
+    private DataFetchingEnvironment flatEnvironment;
+    private DataFetchingEnvironment nestedEnvironment;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        ProcessingElementsContainer container = new GraphQLAnnotations().getContainer();
+        flat = new MethodDataFetcher<>(Api.class.getMethod("flat", String.class, Integer.class), container.getDefaultTypeFunction(), container);
+        nested = new MethodDataFetcher<>(Api.class.getMethod("nested", PersonInput.class), container.getDefaultTypeFunction(), container);
+
+        Map<String, Object> flatArguments = new HashMap<>();
+        flatArguments.put("name", "Jane");
+        flatArguments.put("age", 42);
+
+        List<Map<String, Object>> addresses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> address = new HashMap<>();
+            address.put("zip", "1000" + i);
+            address.put("city", "City " + i);
+            addresses.add(address);
+        }
+        Map<String, Object> person = new HashMap<>();
+        person.put("fullName", "Jane");
+        person.put("age", 42);
+        person.put("addresses", addresses);
+
+        Api api = new Api();
+        flatEnvironment = newDataFetchingEnvironment().source(api).arguments(flatArguments).build();
+        nestedEnvironment = newDataFetchingEnvironment().source(api).arguments(Collections.singletonMap("person", person)).build();
+    }
+
+    @Benchmark
+    public Object flat() {
+        return flat.get(flatEnvironment);
+    }
+
+    @Benchmark
+    public Object nested() {
+        return nested.get(nestedEnvironment);
+    }
+}
@@ -14,17 +14,50 @@
  */
 package graphql.annotations;
 
+import graphql.annotations.dataFetchers.arguments.InputObjectConverter;
+import graphql.annotations.dataFetchers.lifecycle.InstanceLifecycle;
+import graphql.annotations.processor.DeferredTypes;
 import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.TypeDependencyGraph;
+import graphql.annotations.processor.discovery.ClassDiscovery;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.annotations.processor.snapshot.SchemaSnapshot;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
 import graphql.relay.Relay;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLUnionType;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import static graphql.schema.FieldCoordinates.coordinates;
+
 public class AnnotationsSchemaCreator {
 
     public static Builder newAnnotationsSchema() {
@@ -32,6 +65,8 @@ public class AnnotationsSchemaCreator {
     }
 
     public static class Builder {
+        private static final Comparator<Class<?>> BY_NAME = Comparator.comparing(Class::getName);
+
         private Class<?> queryObject;
         private Class<?> mutationObject;
         private Class<?> subscriptionObject;
@@ -40,8 +75,13 @@ public class AnnotationsSchemaCreator {
         private Set<Class<?>> typeExtensions = new HashSet<>();
         private Set<TypeFunction> typeFunctions = new HashSet<>();
         private Boolean shouldAlwaysPrettify = null;
+        private Executor connectionExecutor = null;
+        private Path snapshotFile = null;
+        private Integer lazyDepth = null;
         private GraphQLAnnotations graphQLAnnotations;
         private GraphQLSchema.Builder graphqlSchemaBuilder;
+        private boolean customSchemaBuilder;
+        private GraphQLSchema schema;
 
         /**
          * You can set your own schema builder, but its optional
@@ -180,6 +220,56 @@ public class AnnotationsSchemaCreator {
             return this;
         }
 
+        /**
+         * Set the executor of the asynchronous connections that don't specify their own executor
+         *
+         * @param connectionExecutor an executor
+         * @return the builder after setting the executor
+         */
+        public Builder setConnectionExecutor(Executor connectionExecutor) {
+            this.connectionExecutor = connectionExecutor;
+            return this;
+        }
+
+        /**
+         * Keep a snapshot of the schema in a file. If the file holds a snapshot of the same classes, the schema is
+         * restored from it instead of being built from the annotations; otherwise the schema is built and its snapshot
+         * is written to the file. A schema which uses custom data fetchers, connections, extensions fetched by fields,
+         * directives or custom scalars can't be restored, and no snapshot is written for it
+         *
+         * @param snapshotFile the file of the snapshot
+         * @return the builder after setting the snapshot file
+         */
+        public Builder snapshot(Path snapshotFile) {
+            this.snapshotFile = snapshotFile;
+            return this;
+        }
+
+        /**
+         * Build the schema lazily: the object types of the classes annotated with
+         * {@link graphql.annotations.annotationTypes.GraphQLLazy} are deferred by {@link #buildPartial()}
+         *
+         * @return the builder after enabling the lazy build
+         */
+        public Builder lazy() {
+            return lazy(-1);
+        }
+
+        /**
+         * Build the schema lazily: the object types reached through more than depth fields from the root types and the
+         * additional types, and the object types of the classes annotated with
+         * {@link graphql.annotations.annotationTypes.GraphQLLazy}, are deferred by {@link #buildPartial()}. The depth of
+         * a type is the number of fields through which it is first reached while the types are built, the possible
+         * types of a union being reached through the fields of the union
+         *
+         * @param depth the number of fields from the root types up to which the types are built
+         * @return the builder after enabling the lazy build
+         */
+        public Builder lazy(int depth) {
+            this.lazyDepth = depth;
+            return this;
+        }
+
         /**
          * Set the relay object in the graphql annotations processor
          *
@@ -205,12 +295,34 @@ public class AnnotationsSchemaCreator {
          * @return a GraphQLSchema which contains generated GraphQL types out of the properties provided to the builder
          */
         public GraphQLSchema build() {
+            return build(false);
+        }
+
+        /**
+         * Build a partial schema, available sooner than the complete one: when the builder is lazy, the types deferred
+         * by {@link #lazy(int)} aren't built and the fields of these types are left out of the schema. Until
+         * {@link #materialize()} builds them and returns the complete schema, the schemas returned by
+         * {@link #rebuild(Set)} are partial too. The schema is complete when the builder isn't lazy
+         *
+         * @return a GraphQLSchema without the fields of the deferred types
+         */
+        public GraphQLSchema buildPartial() {
+            return build(true);
+        }
+
+        private GraphQLSchema build(boolean partial) {
             assert this.queryObject != null;
+            boolean deferTypes = partial && this.lazyDepth != null;
 
             if (this.graphQLAnnotations == null) {
                 this.graphQLAnnotations = new GraphQLAnnotations();
             }
 
+            this.customSchemaBuilder = this.graphqlSchemaBuilder != null;
+            // the content of a custom schema builder isn't part of the snapshot
+            // nor are the deferred types of a partial schema
+            boolean useSnapshot = this.snapshotFile != null && !this.customSchemaBuilder && !deferTypes;
+
             if (this.graphqlSchemaBuilder == null) {
                 this.graphqlSchemaBuilder = new GraphQLSchema.Builder();
             }
@@ -222,24 +334,339 @@ public class AnnotationsSchemaCreator {
                 this.graphQLAnnotations.getObjectHandler().getTypeRetriever().getGraphQLFieldRetriever().setAlwaysPrettify(this.shouldAlwaysPrettify);
             }
 
-            Set<GraphQLDirective> directives = directivesObjectList.stream().map(dir -> graphQLAnnotations.directive(dir)).collect(Collectors.toSet());
-            Set<GraphQLType> additionalTypes = additionalTypesList.stream().map(additionalType ->
+            if (this.connectionExecutor != null) {
+                this.graphQLAnnotations.getContainer().setConnectionExecutor(this.connectionExecutor);
+            }
+
+            if (deferTypes) {
+                this.graphQLAnnotations.getContainer().getDeferredTypes().enable(this.lazyDepth);
+            }
+
+            if (useSnapshot) {
+                GraphQLSchema schema = restoreSnapshot();
+                if (schema != null) {
+                    this.schema = schema;
+                    return schema;
+                }
+            }
+
+            GraphQLSchema schema = buildSchema(this.graphqlSchemaBuilder);
+
+            if (useSnapshot) {
+                writeSnapshot(schema);
+            }
+            this.schema = schema;
+            return schema;
+        }
+
+        /**
+         * Rebuild the schema after some of its classes changed, for instance after they were reloaded. Only the types
+         * built from the changed classes (or from their subclasses) and the types referring to them, directly or not,
+         * are built again: the new schema shares the other types with the previous one. A change of a directive class
+         * rebuilds all the types.
+         * <p>
+         * Classes are matched by name, so the new versions of reloaded classes replace the classes of the same name
+         * given to this builder. If the rebuild fails, the previous types are kept and the rebuild can be retried.
+         *
+         * @param changedClasses the classes which changed since the schema was built
+         * @return the new schema
+         * @throws GraphQLAnnotationsException if the schema was built with a custom schema builder, or if the types
+         *                                     can't be built
+         */
+        public GraphQLSchema rebuild(Set<Class<?>> changedClasses) {
+            if (this.schema == null) {
+                return build();
+            }
+            if (this.customSchemaBuilder) {
+                throw new GraphQLAnnotationsException("A schema built with a custom schema builder can't be rebuilt", null);
+            }
+
+            Map<String, Class<?>> changed = new HashMap<>();
+            changedClasses.forEach(aClass -> changed.put(aClass.getName(), aClass));
+            ProcessingElementsContainer container = this.graphQLAnnotations.getContainer();
+            BuildState previousState = new BuildState();
+            try {
+                this.queryObject = changed.getOrDefault(this.queryObject.getName(), this.queryObject);
+                if (this.mutationObject != null) {
+                    this.mutationObject = changed.getOrDefault(this.mutationObject.getName(), this.mutationObject);
+                }
+                if (this.subscriptionObject != null) {
+                    this.subscriptionObject = changed.getOrDefault(this.subscriptionObject.getName(), this.subscriptionObject);
+                }
+                this.additionalTypesList = replace(this.additionalTypesList, changed);
+                this.typeExtensions = replace(this.typeExtensions, changed);
+                this.directivesObjectList = replace(this.directivesObjectList, changed);
+
+                Set<String> affectedTypes;
+                if (this.directivesObjectList.stream().anyMatch(directive -> changed.containsKey(directive.getName()))) {
+                    affectedTypes = new HashSet<>(container.getTypeRegistry().keySet());
+                } else {
+                    affectedTypes = container.getTypeDependencies().getAffectedTypes(changedClasses);
+                }
+                removeTypes(affectedTypes);
+                container.getInputConverters().keySet().removeIf(aClass -> changed.containsKey(aClass.getName()));
+                container.getInstanceLifecycles().keySet().removeIf(aClass -> changed.containsKey(aClass.getName()));
+                container.getClassTypeResolver().getTypes().keySet().stream()
+                        .filter(aClass -> changed.containsKey(aClass.getName()) && changed.get(aClass.getName()) != aClass)
+                        .collect(Collectors.toList())
+                        .forEach(aClass -> container.getClassTypeResolver().unregister(aClass));
+                container.getExtensionsTypeRegistry().keySet().removeIf(aClass -> changed.containsKey(aClass.getName()));
+                container.getExtensionsTypeRegistry().values().forEach(extensions ->
+                        extensions.removeIf(aClass -> changed.containsKey(aClass.getName())));
+                this.typeExtensions.forEach(typeExtension -> this.graphQLAnnotations.registerTypeExtension(typeExtension));
+
+                this.schema = dropUnusedCode(buildSchema(new GraphQLSchema.Builder()));
+                return this.schema;
+            } catch (RuntimeException e) {
+                previousState.restore();
+                throw e;
+            }
+        }
+
+        /**
+         * Build the types deferred by {@link #buildPartial()}, and rebuild the types whose fields were left out because
+         * of them. The other types are shared with the previous schema. If the build fails, the previous types are kept
+         * and the deferred types can be materialized again.
+         *
+         * @return the complete schema
+         * @throws GraphQLAnnotationsException if the schema was built with a custom schema builder, or if the types
+         *                                     can't be built
+         */
+        public GraphQLSchema materialize() {
+            if (this.schema == null) {
+                build();
+            }
+            ProcessingElementsContainer container = this.graphQLAnnotations.getContainer();
+            DeferredTypes deferredTypes = container.getDeferredTypes();
+            if (deferredTypes.getDeferredTypeNames().isEmpty()) {
+                deferredTypes.disable();
+                return this.schema;
+            }
+            if (this.customSchemaBuilder) {
+                throw new GraphQLAnnotationsException("A schema built with a custom schema builder can't be rebuilt", null);
+            }
+
+            BuildState previousState = new BuildState();
+            try {
+                // the types referring to a deferred type may have left fields out, the deferred types built on demand
+                // while the types were built are complete
+                Set<String> typesToRebuild = new HashSet<>();
+                for (String typeName : deferredTypes.getDeferredTypeNames()) {
+                    if (!container.getTypeRegistry().containsKey(typeName)) {
+                        typesToRebuild.add(typeName);
+                    }
+                    typesToRebuild.addAll(container.getTypeDependencies().getDirectDependents(typeName));
+                }
+                removeTypes(container.getTypeDependencies().getDependents(typesToRebuild));
+                deferredTypes.clear();
+                deferredTypes.disable();
+                this.schema = dropUnusedCode(buildSchema(new GraphQLSchema.Builder()));
+                return this.schema;
+            } catch (RuntimeException e) {
+                previousState.restore();
+                throw e;
+            }
+        }
+
+        /**
+         * Materialize the deferred types of a partial build in the background, see {@link #materialize()}. The builder must
+         * not be used until the returned future completes
+         *
+         * @param executor the executor in which the types are built
+         * @return the complete schema
+         */
+        public CompletableFuture<GraphQLSchema> materializeAsync(Executor executor) {
+            return CompletableFuture.supplyAsync(this::materialize, executor);
+        }
+
+        private void removeTypes(Set<String> typeNames) {
+            ProcessingElementsContainer container = this.graphQLAnnotations.getContainer();
+            container.getTypeRegistry().keySet().removeAll(typeNames);
+            container.getTypeDependencies().remove(typeNames);
+        }
+
+        /**
+         * The code registry is shared by the builds of the schema: drop the data fetchers and type resolvers of the
+         * fields and types the new schema no longer has, so that they don't keep the previous versions of the classes.
+         * The types which aren't part of the schema anymore are dropped as well, and built again with their code if
+         * they are used again
+         */
+        private GraphQLSchema dropUnusedCode(GraphQLSchema schema) {
+            ProcessingElementsContainer container = this.graphQLAnnotations.getContainer();
+            GraphQLCodeRegistry.Builder previousCode = container.getCodeRegistryBuilder();
+            GraphQLCodeRegistry code = schema.getCodeRegistry();
+            GraphQLCodeRegistry.Builder usedCode = GraphQLCodeRegistry.newCodeRegistry().fieldVisibility(code.getFieldVisibility());
+            for (GraphQLType type : schema.getAllTypesAsList()) {
+                if (type instanceof GraphQLFieldsContainer) {
+                    for (GraphQLFieldDefinition field : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                        FieldCoordinates coordinates = coordinates(type.getName(), field.getName());
+                        if (previousCode.hasDataFetcher(coordinates)) {
+                            usedCode.dataFetcher(coordinates, code.getDataFetcher(coordinates, field));
+                        }
+                    }
+                }
+                if (type instanceof GraphQLInterfaceType && previousCode.hasTypeResolver(type.getName())) {
+                    usedCode.typeResolver(type.getName(), code.getTypeResolver((GraphQLInterfaceType) type));
+                } else if (type instanceof GraphQLUnionType && previousCode.hasTypeResolver(type.getName())) {
+                    usedCode.typeResolver(type.getName(), code.getTypeResolver((GraphQLUnionType) type));
+                }
+            }
+            removeTypes(container.getTypeRegistry().keySet().stream().filter(name -> schema.getType(name) == null)
+                    .collect(Collectors.toSet()));
+            container.setCodeRegistryBuilder(usedCode);
+            return schema.transform(builder -> builder.codeRegistry(usedCode.build()));
+        }
+
+        private GraphQLSchema buildSchema(GraphQLSchema.Builder graphqlSchemaBuilder) {
+            Set<GraphQLDirective> directives = directivesObjectList.stream().sorted(BY_NAME).map(dir -> graphQLAnnotations.directive(dir)).collect(Collectors.toSet());
+            Set<GraphQLType> additionalTypes = additionalTypesList.stream().sorted(BY_NAME).map(additionalType ->
                     additionalType.isInterface() ?
                             graphQLAnnotations.generateInterface(additionalType) : graphQLAnnotations.object(additionalType)).collect(Collectors.toSet());
 
-            this.graphqlSchemaBuilder.query(graphQLAnnotations.object(queryObject));
+            graphqlSchemaBuilder.query(graphQLAnnotations.object(queryObject));
             if (this.mutationObject != null) {
-                this.graphqlSchemaBuilder.mutation(graphQLAnnotations.object(mutationObject));
+                graphqlSchemaBuilder.mutation(graphQLAnnotations.object(mutationObject));
             }
             if (this.subscriptionObject != null) {
-                this.graphqlSchemaBuilder.subscription(graphQLAnnotations.object(subscriptionObject));
+                graphqlSchemaBuilder.subscription(graphQLAnnotations.object(subscriptionObject));
             }
             if (!this.directivesObjectList.isEmpty()) {
                 graphqlSchemaBuilder.additionalDirectives(directives);
             }
-            this.graphqlSchemaBuilder.additionalTypes(additionalTypes).additionalType(Relay.pageInfoType)
+            graphqlSchemaBuilder.additionalTypes(additionalTypes).additionalType(Relay.pageInfoType)
                     .codeRegistry(graphQLAnnotations.getContainer().getCodeRegistryBuilder().build());
-            return this.graphqlSchemaBuilder.build();
+            return graphqlSchemaBuilder.build();
+        }
+
+        private static Set<Class<?>> replace(Set<Class<?>> classes, Map<String, Class<?>> changed) {
+            return classes.stream().map(aClass -> changed.getOrDefault(aClass.getName(), aClass)).collect(Collectors.toCollection(HashSet::new));
+        }
+
+        /**
+         * The classes of the builder and the state of the processor, restored when a rebuild fails
+         */
+        private class BuildState {
+            private final Class<?> queryObject = Builder.this.queryObject;
+            private final Class<?> mutationObject = Builder.this.mutationObject;
+            private final Class<?> subscriptionObject = Builder.this.subscriptionObject;
+            private final Set<Class<?>> additionalTypesList = Builder.this.additionalTypesList;
+            private final Set<Class<?>> typeExtensions = Builder.this.typeExtensions;
+            private final Set<Class<?>> directivesObjectList = Builder.this.directivesObjectList;
+            private final ProcessingElementsContainer container = graphQLAnnotations.getContainer();
+            private final Map<String, GraphQLType> typeRegistry = new HashMap<>(container.getTypeRegistry());
+            private final Map<String, GraphQLDirective> directiveRegistry = new HashMap<>(container.getDirectiveRegistry());
+            private final TypeDependencyGraph typeDependencies = container.getTypeDependencies().copy();
+            private final DeferredTypes deferredTypes = container.getDeferredTypes().copy();
+            private final Map<Class<?>, InputObjectConverter> inputConverters = new HashMap<>(container.getInputConverters());
+            private final Map<Class<?>, Map<Class<? extends InstanceLifecycle>, InstanceLifecycle>> instanceLifecycles = new HashMap<>(container.getInstanceLifecycles());
+            private final Map<Class<?>, GraphQLObjectType> classTypes = new HashMap<>(container.getClassTypeResolver().getTypes());
+            private final Map<Class<?>, Set<Class<?>>> extensionsTypeRegistry = new HashMap<>();
+
+            BuildState() {
+                container.getExtensionsTypeRegistry().forEach((aClass, extensions) -> extensionsTypeRegistry.put(aClass, new HashSet<>(extensions)));
+            }
+
+            void restore() {
+                Builder.this.queryObject = queryObject;
+                Builder.this.mutationObject = mutationObject;
+                Builder.this.subscriptionObject = subscriptionObject;
+                Builder.this.additionalTypesList = additionalTypesList;
+                Builder.this.typeExtensions = typeExtensions;
+                Builder.this.directivesObjectList = directivesObjectList;
+                container.getProcessing().clear();
+                container.setTypeRegistry(typeRegistry);
+                container.setDirectiveRegistry(directiveRegistry);
+                container.setTypeDependencies(typeDependencies);
+                container.setDeferredTypes(deferredTypes);
+                container.getInputConverters().clear();
+                container.getInputConverters().putAll(inputConverters);
+                container.getInstanceLifecycles().clear();
+                container.getInstanceLifecycles().putAll(instanceLifecycles);
+                new HashSet<>(container.getClassTypeResolver().getTypes().keySet()).forEach(aClass -> container.getClassTypeResolver().unregister(aClass));
+                classTypes.forEach((aClass, type) -> container.getClassTypeResolver().register(aClass, type));
+                container.setExtensionsTypeRegistry(extensionsTypeRegistry);
+                container.setCodeRegistryBuilder(GraphQLCodeRegistry.newCodeRegistry(schema.getCodeRegistry()));
+            }
+        }
+
+        private GraphQLSchema restoreSnapshot() {
+            if (!Files.isReadable(this.snapshotFile)) {
+                return null;
+            }
+            Optional<SchemaSnapshot> snapshot;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.snapshotFile)))) {
+                snapshot = SchemaSnapshot.read(in);
+            } catch (IOException e) {
+                // an unreadable snapshot is replaced by a new one
+                return null;
+            }
+            ClassLoader classLoader = this.queryObject.getClassLoader();
+            return snapshot
+                    .filter(s -> s.getKey().equals(SchemaSnapshot.computeKey(getConfiguration(), s.getClassNames(), classLoader)))
+                    .map(s -> s.restore(classLoader, this.graphQLAnnotations.getContainer()))
+                    .orElse(null);
+        }
+
+        private void writeSnapshot(GraphQLSchema schema) {
+            Set<String> classNames = new TreeSet<>();
+            new ClassDiscovery().discover(getSchemaClasses()).forEach(aClass -> classNames.add(aClass.getName()));
+            this.typeFunctions.forEach(typeFunction -> classNames.add(typeFunction.getClass().getName()));
+            String key = SchemaSnapshot.computeKey(getConfiguration(), classNames, this.queryObject.getClassLoader());
+            if (key == null) {
+                return;
+            }
+            Optional<SchemaSnapshot> snapshot = SchemaSnapshot.capture(key, classNames, schema, this.graphQLAnnotations.getContainer());
+            if (!snapshot.isPresent()) {
+                return;
+            }
+            try {
+                Path directory = this.snapshotFile.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                Path temporaryFile = Files.createTempFile(directory, this.snapshotFile.getFileName().toString(), ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                    snapshot.get().write(out);
+                }
+                Files.move(temporaryFile, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new GraphQLAnnotationsException("Unable to write the schema snapshot " + this.snapshotFile, e);
+            }
+        }
+
+        private String getConfiguration() {
+            ProcessingElementsContainer container = this.graphQLAnnotations.getContainer();
+            return String.join("\n",
+                    String.valueOf(GraphQLAnnotations.class.getPackage().getImplementationVersion()),
+                    this.graphQLAnnotations.getClass().getName(),
+                    this.queryObject.getName(),
+                    this.mutationObject == null ? "" : this.mutationObject.getName(),
+                    this.subscriptionObject == null ? "" : this.subscriptionObject.getName(),
+                    names(this.additionalTypesList),
+                    names(this.typeExtensions),
+                    names(this.directivesObjectList),
+                    String.valueOf(this.shouldAlwaysPrettify),
+                    container.getInputPrefix(),
+                    container.getInputSuffix(),
+                    container.getDefaultTypeFunction().getClass().getName(),
+                    container.getRelay().getClass().getName());
+        }
+
+        private static String names(Set<Class<?>> classes) {
+            return classes.stream().map(Class::getName).sorted().collect(Collectors.joining(","));
+        }
+
+        private Set<Class<?>> getSchemaClasses() {
+            Set<Class<?>> classes = new LinkedHashSet<>();
+            classes.add(this.queryObject);
+            if (this.mutationObject != null) {
+                classes.add(this.mutationObject);
+            }
+            if (this.subscriptionObject != null) {
+                classes.add(this.subscriptionObject);
+            }
+            classes.addAll(this.additionalTypesList);
+            classes.addAll(this.typeExtensions);
+            classes.addAll(this.directivesObjectList);
+            return classes;
         }
     }
 }
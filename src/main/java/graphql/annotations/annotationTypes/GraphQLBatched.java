@@ -19,6 +19,11 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * @deprecated relies on the batched execution strategy, which is deprecated in graphql-java.
+ * Use {@link GraphQLDataLoader} instead
+ */
+@Deprecated
 @Target({ElementType.METHOD, ElementType.FIELD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GraphQLBatched {
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.annotationTypes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Resolves a field for all the source objects of an execution in a single call, through a per-request DataLoader.
+ * The annotated method must be static, take the list of source objects as its only parameter, and return the list of
+ * values in the same order, or a {@link java.util.concurrent.CompletionStage} of it.
+ * The DataLoaders are registered in the registry returned by
+ * {@link graphql.annotations.processor.GraphQLAnnotations#newDataLoaderRegistry()}, which should be created for every
+ * execution. Without it, the field is resolved for each source object separately.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GraphQLDataLoader {
+    /**
+     * @return the name of the DataLoader in the registry. By default, the name of the declaring class and the method
+     */
+    String name() default "";
+
+    /**
+     * @return the maximum number of source objects passed to a single call, unlimited by default
+     */
+    int maxBatchSize() default -1;
+}
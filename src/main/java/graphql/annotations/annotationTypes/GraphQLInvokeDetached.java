@@ -14,6 +14,11 @@
  */
 package graphql.annotations.annotationTypes;
 
+import graphql.annotations.dataFetchers.lifecycle.InstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.PerCallInstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.PerRequestInstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.SingletonInstanceLifecycle;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -22,4 +27,12 @@ import java.lang.annotation.Target;
 @Target({ElementType.METHOD, ElementType.FIELD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GraphQLInvokeDetached {
+    /**
+     * By default, a new instance of the declaring class is created for every resolution of the field.
+     * Use {@link SingletonInstanceLifecycle} or {@link PerRequestInstanceLifecycle} to reuse instances, or implement
+     * your own {@link InstanceLifecycle}
+     *
+     * @return the lifecycle of the instances the field is resolved on
+     */
+    Class<? extends InstanceLifecycle> lifecycle() default PerCallInstanceLifecycle.class;
 }
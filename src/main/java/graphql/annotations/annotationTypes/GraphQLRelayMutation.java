@@ -26,4 +26,13 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GraphQLRelayMutation {
+    /**
+     * The name of a public method of the same class resolving all the invocations of this mutation within a document
+     * at once, instead of the annotated method. It takes the list of the inputs, either as maps or as instances of a
+     * class built like an input object, and optionally the {@link graphql.schema.DataFetchingEnvironment} of the first
+     * invocation. It returns the list of the payloads, in the order of the inputs.
+     * By default, every invocation of the mutation calls the annotated method
+     * @return the name of the batch method
+     */
+    String batch() default "";
 }
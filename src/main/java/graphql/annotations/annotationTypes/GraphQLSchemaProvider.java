@@ -0,0 +1,42 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.annotationTypes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link graphql.annotations.SchemaProvider} for the annotated query class at compile time, with the
+ * annotation processor of the graphql-java-annotations-processor module. The generated provider builds the schema and
+ * its data fetchers without reflection.
+ * Only a subset of the annotations is supported by generated schemas, the annotation processor reports an error for
+ * the rest.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GraphQLSchemaProvider {
+    /**
+     * @return the simple name of the generated provider class. By default, the name of the query class followed by
+     * SchemaProvider
+     */
+    String name() default "";
+
+    /**
+     * @return the mutation class of the schema, none by default
+     */
+    Class<?> mutation() default Void.class;
+}
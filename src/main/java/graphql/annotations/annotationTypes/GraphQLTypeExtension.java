@@ -14,6 +14,11 @@
  */
 package graphql.annotations.annotationTypes;
 
+import graphql.annotations.dataFetchers.lifecycle.InstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.PerCallInstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.PerRequestInstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.SingletonInstanceLifecycle;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -23,4 +28,14 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GraphQLTypeExtension {
     Class<?> value();
+
+    /**
+     * By default, a new instance of the extension class is created, wrapping the source object, for every resolution of
+     * an extension field. Use {@link PerRequestInstanceLifecycle} to reuse the instance wrapping the same source object
+     * within an execution.
+     * Since the instances wrap their source object, {@link SingletonInstanceLifecycle} is not allowed here.
+     *
+     * @return the lifecycle of the instances wrapping the source objects
+     */
+    Class<? extends InstanceLifecycle> lifecycle() default PerCallInstanceLifecycle.class;
 }
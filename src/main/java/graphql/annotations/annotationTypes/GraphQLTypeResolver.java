@@ -14,6 +14,7 @@
  */
 package graphql.annotations.annotationTypes;
 
+import graphql.annotations.typeResolvers.ClassTypeResolver;
 import graphql.schema.TypeResolver;
 
 import java.lang.annotation.ElementType;
@@ -24,5 +25,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GraphQLTypeResolver {
-    Class<? extends TypeResolver> value();
+    /**
+     * By default, the type of a value is resolved from its class, see {@link ClassTypeResolver}
+     *
+     * @return the type resolver of the interface
+     */
+    Class<? extends TypeResolver> value() default ClassTypeResolver.class;
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An executor for asynchronous connections, with a fixed number of threads and a bounded queue.
+ * When the queue is full, the connection is fetched by the thread executing the query instead, which slows down the
+ * callers rather than queuing an unbounded amount of work.
+ * <p>
+ * Extend it with a default constructor to reference it from {@link GraphQLConnection#executor()}
+ */
+public class BoundedConnectionExecutor implements Executor {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final ThreadPoolExecutor pool;
+    private final DepthRecordingQueue queue;
+    private final AtomicLong callerRunsCount = new AtomicLong();
+
+    /**
+     * @param threads       the number of threads fetching the connections
+     * @param queueCapacity the maximum number of connections waiting for a thread
+     */
+    public BoundedConnectionExecutor(int threads, int queueCapacity) {
+        this.queue = new DepthRecordingQueue(queueCapacity);
+        String prefix = "graphql-connection-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, threadFactory,
+                (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("The connection executor is shut down");
+                    }
+                    callerRunsCount.incrementAndGet();
+                    runnable.run();
+                });
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        pool.execute(command);
+    }
+
+    /**
+     * @return the number of connections waiting for a thread
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the highest number of connections that have been waiting for a thread at the same time
+     */
+    public int getMaxQueueDepth() {
+        return queue.maxDepth.get();
+    }
+
+    /**
+     * @return the number of connections fetched by the calling thread because the queue was full
+     */
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    /**
+     * @return the number of threads currently fetching connections
+     */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Shuts the executor down: the queued connections are still fetched, the new ones are rejected
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Records the depth of the queue when a connection is queued, before a thread can take it
+     */
+    private static class DepthRecordingQueue extends ArrayBlockingQueue<Runnable> {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicInteger maxDepth = new AtomicInteger();
+
+        DepthRecordingQueue(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        public boolean offer(Runnable runnable) {
+            boolean queued = super.offer(runnable);
+            if (queued) {
+                maxDepth.accumulateAndGet(size(), Math::max);
+            }
+            return queued;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.Executor;
 
 /**
  * Specifies that the annotated field or method (given it is also
@@ -62,6 +63,25 @@ public @interface GraphQLConnection {
      */
     boolean async() default false;
 
+    /**
+     * By default, asynchronous connections are fetched by the connection executor of the container, which is the common
+     * fork join pool unless specified otherwise. A different executor can be specified for this connection, for example
+     * a {@link BoundedConnectionExecutor} or a {@link VirtualThreadConnectionExecutor}.
+     * The executor is created once, with its default constructor or its static getInstance method, and shared by all
+     * the connections that specify it. {@link Executor} itself, the default, stands for the connection executor of the
+     * container
+     * @return the executor of the asynchronous connection
+     */
+    Class<? extends Executor> executor() default Executor.class;
+
+    /**
+     * By default, a single connection fetcher is created when the schema is built, and used for every resolution of the
+     * field. If the connection fetcher keeps state between resolutions, set this property so that a new one is created
+     * every time.
+     * @return if a new connection fetcher is created for every resolution
+     */
+    boolean stateful() default false;
+
     /**
      * By default, the relay connection that the container has is used. If you want to change the way connection works
      * (For example, you don't want edges and nodes), override the {@link Relay} class and specify it.
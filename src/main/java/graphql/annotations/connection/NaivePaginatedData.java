@@ -53,6 +53,18 @@ public class NaivePaginatedData<T> extends AbstractPaginatedData<T> {
         return createCursor(offset);
     }
 
+    /**
+     * creates the cursor from the position of the entity, without iterating over the data
+     *
+     * @param entity the entity
+     * @param index  the position of the entity in the data
+     * @return the cursor of the entity (i.e the offset)
+     */
+    @Override
+    public String getCursor(T entity, long index) {
+        return createCursor(index);
+    }
+
     private String createCursor(long offset) {
         byte[] bytes = (prefix + Long.toString(offset)).getBytes(StandardCharsets.UTF_8);
         return getEncoder().encodeToString(bytes);
@@ -45,4 +45,17 @@ public interface PaginatedData<T> extends Iterable<T> {
      * @return String representation of the cursor of the entity
      */
     String getCursor(T entity);
+
+    /**
+     * get the encoded cursor of the entity at the given position of the data.
+     * Override it when the cursor can be computed from the position, so that the entity doesn't have to be looked up.
+     * By default, it calls {@link #getCursor(Object)}
+     *
+     * @param entity the entity
+     * @param index  the position of the entity in the data, starting at 0
+     * @return String representation of the cursor of the entity
+     */
+    default String getCursor(T entity, long index) {
+        return getCursor(entity);
+    }
 }
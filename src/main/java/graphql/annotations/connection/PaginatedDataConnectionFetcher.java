@@ -68,9 +68,9 @@ public class PaginatedDataConnectionFetcher<T> implements ConnectionFetcher<T> {
     private List<Edge<T>> buildEdges(PaginatedData<T> paginatedData) {
         Iterator<T> data = paginatedData.iterator();
         List<Edge<T>> edges = new ArrayList<>();
-        for (; data.hasNext(); ) {
+        for (long index = 0; data.hasNext(); index++) {
             T entity = data.next();
-            edges.add(new DefaultEdge<>(entity, new DefaultConnectionCursor(paginatedData.getCursor(entity))));
+            edges.add(new DefaultEdge<>(entity, new DefaultConnectionCursor(paginatedData.getCursor(entity, index))));
         }
         return edges;
     }
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An executor for asynchronous connections that fetches every connection on a new virtual thread.
+ * Virtual threads are only available from Java 21, see {@link #isSupported()}
+ */
+public class VirtualThreadConnectionExecutor implements Executor {
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactory();
+
+    private final ExecutorService executor;
+
+    /**
+     * @throws GraphQLAnnotationsException if virtual threads are not supported by the running JVM
+     */
+    public VirtualThreadConnectionExecutor() throws GraphQLAnnotationsException {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new GraphQLAnnotationsException("Virtual threads are not supported by this JVM", null);
+        }
+        try {
+            this.executor = (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new GraphQLAnnotationsException("Unable to create a virtual thread executor", e);
+        }
+    }
+
+    /**
+     * @return whether virtual threads are supported by the running JVM
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static Method findFactory() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -14,22 +14,35 @@
  */
 package graphql.annotations.connection.simple;
 
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.relay.Connection;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Optional;
 
-import static graphql.annotations.processor.util.ReflectionKit.constructNewInstance;
+import static graphql.annotations.processor.util.ReflectionKit.constructorInvoker;
 
 public class SimpleConnectionDataFetcher<T> implements SimpleConnectionFetcher<T> {
     private final DataFetcher<?> actualDataFetcher;
-    private final Constructor<SimpleConnectionFetcher<T>> constructor;
+    private final MethodHandle constructor;
+    private final SimpleConnectionFetcher<T> connectionFetcher;
 
-    @SuppressWarnings("unchecked")
     public SimpleConnectionDataFetcher(Class<? extends SimpleConnectionFetcher<T>> connection, DataFetcher<?> actualDataFetcher) {
+        this(connection, actualDataFetcher, false);
+    }
+
+    /**
+     * @param connection        the connection fetcher class, with a constructor taking the actual data fetcher
+     * @param actualDataFetcher the data fetcher of the field
+     * @param stateful          whether a new connection fetcher is created for every resolution of the field, instead of
+     *                          a single one created here
+     */
+    @SuppressWarnings("unchecked")
+    public SimpleConnectionDataFetcher(Class<? extends SimpleConnectionFetcher<T>> connection, DataFetcher<?> actualDataFetcher, boolean stateful) {
         this.actualDataFetcher = actualDataFetcher;
         Optional<Constructor<SimpleConnectionFetcher<T>>> constructor =
                 Arrays.stream(connection.getConstructors()).
@@ -37,15 +50,28 @@ public class SimpleConnectionDataFetcher<T> implements SimpleConnectionFetcher<T
                         map(c -> (Constructor<SimpleConnectionFetcher<T>>) c).
                         findFirst();
         if (constructor.isPresent()) {
-            this.constructor = constructor.get();
+            this.constructor = constructorInvoker(constructor.get());
         } else {
             throw new IllegalArgumentException(connection.getSimpleName() + " doesn't have a single argument constructor");
         }
+        this.connectionFetcher = stateful ? null : newConnectionFetcher();
     }
 
     @Override
     public Connection<T> get(DataFetchingEnvironment environment) throws Exception {
-        SimpleConnectionFetcher<T> conn = constructNewInstance(constructor, actualDataFetcher);
+        SimpleConnectionFetcher<T> conn = connectionFetcher != null ? connectionFetcher : newConnectionFetcher();
         return conn.get(environment);
     }
+
+    @SuppressWarnings("unchecked")
+    private SimpleConnectionFetcher<T> newConnectionFetcher() {
+        try {
+            Object connection = constructor.invokeExact(new Object[]{actualDataFetcher});
+            return (SimpleConnectionFetcher<T>) connection;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new GraphQLAnnotationsException("Unable to instantiate connection fetcher", e);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+
+/**
+ * Resolves the clientMutationId field of the payload of a Relay mutation.
+ * The clientMutationId is captured from the input by the {@link RelayMutationMethodDataFetcher} of the mutation, and
+ * handed down to the payload fields as their local context. If the mutation was resolved under another local context,
+ * the clientMutationId is read from the input argument of the mutation field instead
+ */
+public class ClientMutationIdDataFetcher implements DataFetcher<Object> {
+
+    static final String CLIENT_MUTATION_ID = "clientMutationId";
+    static final String INPUT = "input";
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) {
+        Object localContext = environment.getLocalContext();
+        if (localContext instanceof Captured) {
+            return ((Captured) localContext).clientMutationId;
+        }
+        ExecutionStepInfo mutationStep = environment.getExecutionStepInfo().getParent();
+        Object input = mutationStep == null ? null : mutationStep.getArguments().get(INPUT);
+        return input instanceof Map ? ((Map<?, ?>) input).get(CLIENT_MUTATION_ID) : null;
+    }
+
+    static Object capture(Map<String, Object> input) {
+        return new Captured(input.get(CLIENT_MUTATION_ID));
+    }
+
+    /**
+     * @param environment the environment of the mutation field
+     * @param payload     the payload of the mutation
+     * @return the payload, with the clientMutationId of the input of the mutation as the local context of its fields
+     */
+    static Object withClientMutationId(DataFetchingEnvironment environment, Object payload) {
+        if (environment.getLocalContext() != null) {
+            // don't hide the local context of the caller from the payload fields
+            return payload;
+        }
+        Map<String, Object> input = environment.getArgument(INPUT);
+        return DataFetcherResult.newResult().data(payload).localContext(capture(input)).build();
+    }
+
+    private static final class Captured {
+        private final Object clientMutationId;
+
+        private Captured(Object clientMutationId) {
+            this.clientMutationId = clientMutationId;
+        }
+    }
+}
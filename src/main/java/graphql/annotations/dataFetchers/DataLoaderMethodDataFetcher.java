@@ -0,0 +1,102 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.annotationTypes.GraphQLDataLoader;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static graphql.annotations.processor.util.ReflectionKit.invoker;
+
+/**
+ * Resolves a field annotated with {@link GraphQLDataLoader} by loading the source object from the DataLoader of the
+ * current execution, so that the method is called once for all the source objects of a batch
+ */
+public class DataLoaderMethodDataFetcher<T> implements DataFetcher<CompletableFuture<T>> {
+    private final String name;
+    private final MethodBatchLoader<T> batchLoader;
+
+    public DataLoaderMethodDataFetcher(Method method, ProcessingElementsContainer container) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalArgumentException("DataLoader method should be static");
+        }
+        if (method.getParameterCount() != 1 || !List.class.isAssignableFrom(method.getParameterTypes()[0])) {
+            throw new IllegalArgumentException("DataLoader method should only take the List of source objects");
+        }
+        GraphQLDataLoader dataLoader = method.getAnnotation(GraphQLDataLoader.class);
+        this.name = dataLoader.name().isEmpty() ? method.getDeclaringClass().getName() + "." + method.getName() : dataLoader.name();
+        this.batchLoader = new MethodBatchLoader<>(method);
+        int maxBatchSize = dataLoader.maxBatchSize();
+        container.getDataLoaders().put(name, () -> DataLoader.newDataLoader(batchLoader,
+                DataLoaderOptions.newOptions().setMaxBatchSize(maxBatchSize)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<T> get(DataFetchingEnvironment environment) {
+        Object source = environment.getSource();
+        if (source == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DataLoader<Object, T> dataLoader = environment.getDataLoader(name);
+        if (dataLoader == null) {
+            return batchLoader.load(Collections.singletonList(source)).toCompletableFuture()
+                    .thenApply(values -> values.get(0));
+        }
+        return dataLoader.load(source);
+    }
+
+    private static class MethodBatchLoader<T> implements BatchLoader<Object, T> {
+        private final Method method;
+        private final MethodHandle invoker;
+
+        MethodBatchLoader(Method method) {
+            this.method = method;
+            this.invoker = invoker(method);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public CompletionStage<List<T>> load(List<Object> keys) {
+            try {
+                Object result = invoker.invokeExact((Object) null, new Object[]{keys});
+                CompletionStage<?> values = result instanceof CompletionStage ?
+                        (CompletionStage<?>) result : CompletableFuture.completedFuture(result);
+                return (CompletionStage<List<T>>) values;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                CompletableFuture<List<T>> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RuntimeException("Unable to load " + method.getName(), e));
+                return failed;
+            }
+        }
+    }
+}
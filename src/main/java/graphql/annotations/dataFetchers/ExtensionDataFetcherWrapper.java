@@ -14,12 +14,16 @@
  */
 package graphql.annotations.dataFetchers;
 
+import graphql.annotations.dataFetchers.lifecycle.InstanceFactory;
+import graphql.annotations.dataFetchers.lifecycle.InstanceLifecycle;
+import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
 import java.util.Map;
+import java.util.function.Function;
 
-import static graphql.annotations.processor.util.ReflectionKit.newInstance;
+import static graphql.annotations.processor.util.InstanceLifecycleUtil.getWrappingLifecycle;
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
 
 public class ExtensionDataFetcherWrapper<T> implements DataFetcher<T> {
@@ -28,16 +32,26 @@ public class ExtensionDataFetcherWrapper<T> implements DataFetcher<T> {
 
     private final DataFetcher<T> dataFetcher;
 
+    private final InstanceLifecycle lifecycle;
+
+    private final Function<Object, Object> instanceCreator;
+
     public ExtensionDataFetcherWrapper(Class declaringClass, DataFetcher<T> dataFetcher) {
+        this(declaringClass, dataFetcher, null);
+    }
+
+    public ExtensionDataFetcherWrapper(Class declaringClass, DataFetcher<T> dataFetcher, ProcessingElementsContainer container) {
         this.declaringClass = declaringClass;
         this.dataFetcher = dataFetcher;
+        this.lifecycle = getWrappingLifecycle(declaringClass, container);
+        this.instanceCreator = InstanceFactory.of(declaringClass)::newInstance;
     }
 
     @Override
     public T get(DataFetchingEnvironment environment) throws Exception {
         Object source = environment.getSource();
         if (source != null && (!declaringClass.isInstance(source)) && !(source instanceof Map)) {
-            environment = newDataFetchingEnvironment(environment).source(newInstance(declaringClass, source)).build();
+            environment = newDataFetchingEnvironment(environment).source(lifecycle.getInstance(environment, source, instanceCreator)).build();
         }
         return dataFetcher.get(environment);
     }
@@ -0,0 +1,211 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.dataFetchers.arguments.InputConverter;
+import graphql.annotations.dataFetchers.arguments.InputConverters;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.execution.*;
+import graphql.schema.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.*;
+
+import static graphql.annotations.dataFetchers.ClientMutationIdDataFetcher.INPUT;
+import static graphql.annotations.processor.util.ReflectionKit.invoker;
+
+/**
+ * Resolves all the invocations of a Relay mutation within a document with a single invocation of its batch method
+ * (see {@link graphql.annotations.annotationTypes.GraphQLRelayMutation#batch()}).
+ * When the first of the sibling fields of the mutation is fetched, the inputs of all of them are collected in document
+ * order and passed as a list to the batch method, which returns the payloads in the same order. The other fields then
+ * return their payload without invoking anything. The clientMutationId of every input is handed down to its own payload,
+ * as it is by {@link RelayMutationMethodDataFetcher}
+ */
+public class RelayMutationBatchDataFetcher implements DataFetcher<Object> {
+    private final Method batchMethod;
+    private final MethodHandle invoker;
+    private final int parameterCount;
+    private final int inputsIndex;
+    private final int envIndex;
+    private final InputConverter inputsConverter;
+    private final FieldCollector fieldCollector = new FieldCollector();
+    private final ValuesResolver valuesResolver = new ValuesResolver();
+
+    // the pending batches of every execution, by path of the object holding the mutation fields
+    private final Map<ExecutionId, Map<String, Batch>> batches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public RelayMutationBatchDataFetcher(Method method, String batchMethodName, GraphQLInputType input, ProcessingElementsContainer container) {
+        Method[] candidates = Arrays.stream(method.getDeclaringClass().getMethods())
+                .filter(m -> m.getName().equals(batchMethodName))
+                .toArray(Method[]::new);
+        if (candidates.length == 0) {
+            throw new GraphQLAnnotationsException("Batch method " + batchMethodName + " of mutation " + method.getName()
+                    + " not found in " + method.getDeclaringClass().getName(), null);
+        }
+        this.batchMethod = Arrays.stream(candidates)
+                .filter(m -> getInputsIndex(m) >= 0)
+                .findFirst()
+                .orElseThrow(() -> new GraphQLAnnotationsException("Batch method " + batchMethodName + " of mutation " + method.getName()
+                        + " should take the list of inputs, and optionally the environment, and return the list of payloads", null));
+
+        Parameter[] parameters = batchMethod.getParameters();
+        this.parameterCount = parameters.length;
+        this.inputsIndex = getInputsIndex(batchMethod);
+        // the other parameter, if any, is the environment
+        this.envIndex = parameters.length == 2 ? 1 - inputsIndex : -1;
+        this.invoker = invoker(batchMethod);
+
+        GraphQLType inputType = input instanceof GraphQLNonNull ? ((GraphQLNonNull) input).getWrappedType() : input;
+        this.inputsConverter = InputConverters.converter(parameters[inputsIndex].getParameterizedType(), new GraphQLList(inputType), container);
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) {
+        if (environment.getSource() == null) return null;
+        ExecutionId executionId = environment.getExecutionId();
+        String parentPath = environment.getExecutionStepInfo().getParent().getPath().toString();
+        Batch batch;
+        synchronized (batches) {
+            batch = batches.computeIfAbsent(executionId, id -> new HashMap<>()).computeIfAbsent(parentPath, path -> new Batch());
+        }
+        try {
+            return ClientMutationIdDataFetcher.withClientMutationId(environment, batch.take(environment));
+        } finally {
+            if (batch.isDone()) {
+                synchronized (batches) {
+                    Map<String, Batch> executionBatches = batches.get(executionId);
+                    if (executionBatches != null && executionBatches.remove(parentPath) != null && executionBatches.isEmpty()) {
+                        batches.remove(executionId);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+      The index of the list of inputs among the parameters of a batch method, or -1 if the method doesn't take the list
+      of inputs, and optionally the environment, and return a list
+     */
+    private static int getInputsIndex(Method method) {
+        if (!List.class.isAssignableFrom(method.getReturnType())) {
+            return -1;
+        }
+        Parameter[] parameters = method.getParameters();
+        int inputs = -1;
+        int env = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            if (DataFetchingEnvironment.class.isAssignableFrom(parameters[i].getType()) && env < 0) {
+                env = i;
+            } else if (parameters[i].getType().isAssignableFrom(List.class) && inputs < 0) {
+                inputs = i;
+            } else {
+                return -1;
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * @return the method resolving the batches
+     */
+    public Method getBatchMethod() {
+        return batchMethod;
+    }
+
+    private class Batch {
+        private Map<String, Object> payloads;
+        private RuntimeException failure;
+        private int remaining;
+
+        synchronized Object take(DataFetchingEnvironment environment) {
+            if (payloads == null && failure == null) {
+                run(environment);
+            }
+            remaining--;
+            if (failure != null) {
+                throw failure;
+            }
+            return payloads.get(environment.getMergedField().getResultKey());
+        }
+
+        synchronized boolean isDone() {
+            return remaining <= 0;
+        }
+
+        private void run(DataFetchingEnvironment environment) {
+            try {
+                List<String> resultKeys = new ArrayList<>();
+                List<Object> inputs = new ArrayList<>();
+                for (MergedField sibling : getSiblingFields(environment)) {
+                    Map<String, Object> arguments = valuesResolver.getArgumentValues(environment.getGraphQLSchema().getCodeRegistry(),
+                            environment.getFieldDefinition().getArguments(), sibling.getArguments(), environment.getVariables());
+                    resultKeys.add(sibling.getResultKey());
+                    inputs.add(arguments.get(INPUT));
+                }
+                remaining = inputs.size();
+
+                Object[] args = new Object[parameterCount];
+                args[inputsIndex] = inputsConverter.convert(inputs);
+                if (envIndex >= 0) {
+                    args[envIndex] = environment;
+                }
+                Object source = environment.getSource();
+                Object invocationResult = invoker.invokeExact(source, args);
+                List<?> results = (List<?>) invocationResult;
+                if (results == null || results.size() != inputs.size()) {
+                    throw new GraphQLAnnotationsException("Batch method " + batchMethod.getName() + " returned "
+                            + (results == null ? "no payloads" : results.size() + " payloads") + " for " + inputs.size() + " inputs", null);
+                }
+                payloads = new HashMap<>();
+                for (int i = 0; i < results.size(); i++) {
+                    payloads.put(resultKeys.get(i), results.get(i));
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                failure = new RuntimeException(e);
+            }
+        }
+    }
+
+    /*
+      The fields of the same mutation as the fetched one, in the selection of its parent object
+     */
+    private List<MergedField> getSiblingFields(DataFetchingEnvironment environment) {
+        FieldCollectorParameters parameters = FieldCollectorParameters.newParameters()
+                .schema(environment.getGraphQLSchema())
+                .objectType((GraphQLObjectType) environment.getParentType())
+                .fragments(environment.getFragmentsByName())
+                .variables(environment.getVariables())
+                .build();
+        MergedField parentField = environment.getExecutionStepInfo().getParent().getField();
+        MergedSelectionSet selection = parentField == null ?
+                fieldCollector.collectFields(parameters, environment.getOperationDefinition().getSelectionSet()) :
+                fieldCollector.collectFields(parameters, parentField);
+        List<MergedField> siblings = new ArrayList<>();
+        for (MergedField field : selection.getSubFieldsList()) {
+            if (field.getName().equals(environment.getMergedField().getName())) {
+                siblings.add(field);
+            }
+        }
+        return siblings;
+    }
+}
@@ -14,47 +14,92 @@
  */
 package graphql.annotations.dataFetchers;
 
-import graphql.schema.*;
+import graphql.annotations.dataFetchers.arguments.ArgumentBinder;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.typeFunctions.TypeFunction;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLType;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static graphql.annotations.processor.util.ReflectionKit.invoker;
+
+/**
+ * Invokes the method of a Relay mutation with the fields of its input. The fields are bound to the method parameters by
+ * an {@link ArgumentBinder}, so they are named and converted as the arguments of any other field.
+ * The clientMutationId of the input is handed down to the payload as the local context of its fields, where the
+ * {@link ClientMutationIdDataFetcher} resolves it
+ */
 public class RelayMutationMethodDataFetcher implements DataFetcher {
     private final Method method;
-    private final List<GraphQLArgument> args;
-    private final GraphQLInputType input;
-    private final GraphQLOutputType type;
-    private final int envIndex;
+    private final MethodHandle invoker;
+    private final ArgumentBinder argumentBinder;
 
+    public RelayMutationMethodDataFetcher(Method method, TypeFunction typeFunction, ProcessingElementsContainer container) {
+        this(method, new ArgumentBinder(method, typeFunction, container));
+    }
+
+    /**
+     * @deprecated the input type and the payload type aren't used, use
+     * {@link #RelayMutationMethodDataFetcher(Method, TypeFunction, ProcessingElementsContainer)} instead
+     */
+    @Deprecated
     public RelayMutationMethodDataFetcher(Method method, List<GraphQLArgument> args, GraphQLInputType input, GraphQLOutputType type) {
+        this(method, argumentBinder(method, args));
+    }
+
+    private RelayMutationMethodDataFetcher(Method method, ArgumentBinder argumentBinder) {
         this.method = method;
-        this.args = args;
-        this.input = input;
-        this.type = type;
-        List<Class<?>> parameterTypes = Arrays.asList(method.getParameters()).stream().
-                map(Parameter::getType).
-                collect(Collectors.toList());
-        envIndex = parameterTypes.indexOf(DataFetchingEnvironment.class);
+        this.invoker = invoker(method);
+        this.argumentBinder = argumentBinder;
+    }
+
+    /**
+     * Binds the arguments, given in parameter order without the {@link DataFetchingEnvironment} parameters
+     */
+    private static ArgumentBinder argumentBinder(Method method, List<GraphQLArgument> args) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        String[] names = new String[parameterTypes.length];
+        GraphQLType[] types = new GraphQLType[parameterTypes.length];
+        Iterator<GraphQLArgument> arguments = args.iterator();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!DataFetchingEnvironment.class.isAssignableFrom(parameterTypes[i])) {
+                GraphQLArgument argument = arguments.next();
+                names[i] = argument.getName();
+                types[i] = argument.getType();
+            }
+        }
+        return new ArgumentBinder(method, names, types, new ProcessingElementsContainer());
     }
 
     @Override
     public Object get(DataFetchingEnvironment environment) {
         if (environment.getSource() == null) return null;
+        Map<String, Object> input = environment.getArgument(ClientMutationIdDataFetcher.INPUT);
+        Object source = environment.getSource();
+        Object payload;
         try {
-            Map<String, Object> input = environment.getArgument("input");
-            List<Object> args = this.args.stream().
-                    map(arg -> input.get(arg.getName())).collect(Collectors.toList());
-            if (envIndex >= 0) {
-                args.add(envIndex, environment);
-            }
-            return method.invoke(environment.getSource(), args.toArray());
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            payload = invoker.invokeExact(source, argumentBinder.bind(environment, input));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
+        return ClientMutationIdDataFetcher.withClientMutationId(environment, payload);
+    }
+
+    /**
+     * @return the method of the mutation
+     */
+    public Method getMethod() {
+        return method;
     }
 }
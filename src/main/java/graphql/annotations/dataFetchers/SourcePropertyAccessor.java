@@ -0,0 +1,138 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static graphql.annotations.processor.util.PrefixesUtil.addPrefixToPropertyName;
+import static graphql.annotations.processor.util.PrefixesUtil.extractPrefixedName;
+
+/**
+ * Reads the value of a GraphQL field out of a source object whose class doesn't declare the field method.
+ * The getter and the field of a (source class, field name) pair are looked up once and cached as method handles:
+ * 1. The first method named `name`, `getName` or `isName` found in the source class hierarchy
+ * 2. The first field named `name` (or `name` without its `get`/`is` prefix) found in the source class hierarchy
+ * The getter value is returned if it is not null, else the field value is returned if it is not null.
+ * A pair without any of them is cached as well, so that missing properties are not searched again.
+ */
+public class SourcePropertyAccessor {
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final String[] ORDERED_PREFIXES = new String[]{"", "get", "is"};
+
+    private static final ClassValue<Map<String, SourcePropertyAccessor>> ACCESSORS = new ClassValue<Map<String, SourcePropertyAccessor>>() {
+        @Override
+        protected Map<String, SourcePropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final MethodHandle getter;
+    private final MethodHandle field;
+
+    private SourcePropertyAccessor(MethodHandle getter, MethodHandle field) {
+        this.getter = getter;
+        this.field = field;
+    }
+
+    public static SourcePropertyAccessor of(Class<?> sourceClass, String fieldName) {
+        Map<String, SourcePropertyAccessor> accessors = ACCESSORS.get(sourceClass);
+        SourcePropertyAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            accessor = new SourcePropertyAccessor(findGetter(sourceClass, fieldName), findField(sourceClass, fieldName));
+            accessors.putIfAbsent(fieldName, accessor);
+        }
+        return accessor;
+    }
+
+    public Object get(Object source) throws NoSuchFieldException {
+        try {
+            if (getter != null) {
+                Object value = getter.invokeExact(source);
+                if (value != null) return value;
+            }
+            if (field != null) {
+                Object value = field.invokeExact(source);
+                if (value != null) return value;
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+        throw new NoSuchFieldException("No GraphQL field found");
+    }
+
+    private static MethodHandle findGetter(Class<?> sourceClass, String fieldName) {
+        for (String prefix : ORDERED_PREFIXES) {
+            String name = prefix.isEmpty() ? fieldName : addPrefixToPropertyName(prefix, fieldName);
+            for (Class<?> c = sourceClass; c != null; c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (method.getName().equals(name) && method.getParameterCount() == 0 && !method.isBridge()) {
+                        return getterHandle(method);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle findField(Class<?> sourceClass, String fieldName) {
+        for (String name : new String[]{fieldName, extractPrefixedName(fieldName)}) {
+            for (Class<?> c = sourceClass; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getName().equals(name)) {
+                        return fieldHandle(field);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle getterHandle(Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new GraphQLAnnotationsException("Unable to bind method : " + method, e);
+        }
+    }
+
+    private static MethodHandle fieldHandle(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new GraphQLAnnotationsException("Unable to bind field : " + field, e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.typeFunctions.TypeFunction;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLType;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
+
+/**
+ * An immutable plan which binds the arguments of a field to the parameters of the java method behind it.
+ * The argument names, the {@link InputConverter}s of the arguments and the slots of the {@link DataFetchingEnvironment}
+ * parameters are resolved once, when the data fetcher is created, so binding the arguments of a single invocation is a
+ * plain array fill
+ */
+public class ArgumentBinder {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // a null name marks a DataFetchingEnvironment slot
+    private final String[] names;
+    private final InputConverter[] converters;
+
+    public ArgumentBinder(Method method, TypeFunction typeFunction, ProcessingElementsContainer container) {
+        Parameter[] parameters = method.getParameters();
+        this.names = new String[parameters.length];
+        this.converters = new InputConverter[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter p = parameters[i];
+            if (DataFetchingEnvironment.class.isAssignableFrom(p.getType())) {
+                continue;
+            }
+            GraphQLName name = p.getAnnotation(GraphQLName.class);
+            names[i] = toGraphqlName(name != null ? name.value() : p.getName());
+            GraphQLType graphQLType = typeFunction.buildType(true, p.getType(), p.getAnnotatedType(), container);
+            converters[i] = InputConverters.converter(p.getParameterizedType(), graphQLType, container);
+        }
+    }
+
+    /**
+     * Creates the binder of a known plan, such as the plan kept in a schema snapshot, without building the GraphQL types
+     * of the arguments again
+     *
+     * @param method    the method
+     * @param names     the argument names, in parameter order, with null for the {@link DataFetchingEnvironment} slots
+     * @param types     the GraphQL types of the arguments, in parameter order
+     * @param container the container of the schema
+     */
+    public ArgumentBinder(Method method, String[] names, GraphQLType[] types, ProcessingElementsContainer container) {
+        Parameter[] parameters = method.getParameters();
+        this.names = names.clone();
+        this.converters = new InputConverter[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (names[i] != null) {
+                converters[i] = InputConverters.converter(parameters[i].getParameterizedType(), types[i], container);
+            }
+        }
+    }
+
+    /**
+     * @return the argument names, in parameter order, with null for the {@link DataFetchingEnvironment} slots
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * @param environment the environment of the current field resolution
+     * @return the invocation arguments of the method, in parameter order
+     */
+    public Object[] bind(DataFetchingEnvironment environment) {
+        return bind(environment, environment.getArguments());
+    }
+
+    /**
+     * @param environment the environment of the current field resolution
+     * @param envArgs     the values to bind by argument name, such as the fields of a Relay mutation input
+     * @return the invocation arguments of the method, in parameter order
+     */
+    public Object[] bind(DataFetchingEnvironment environment, Map<String, Object> envArgs) {
+        if (names.length == 0) {
+            return NO_ARGS;
+        }
+        Object[] args = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null) {
+                args[i] = environment;
+            } else {
+                args[i] = converters[i].convert(envArgs.get(names[i]));
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.*;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InputConverters {
+    private static final InputConverter IDENTITY = value -> value;
+
+    public static InputConverter identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * Builds the converter of a value of the given java type, according to its GraphQL input type:
+     * - an input object is built by the {@link InputObjectConverter} of its class
+     * - a list of a parameterized java type is converted element by element into an {@link ArrayList}
+     * - any other value is passed as is
+     *
+     * @param type        the java type of the parameter
+     * @param graphQLType the GraphQL input type of the parameter
+     * @param container   a class that hold several members that are required in order to build schema
+     * @return the converter of the parameter value
+     */
+    public static InputConverter converter(Type type, GraphQLType graphQLType, ProcessingElementsContainer container) {
+        if (graphQLType instanceof GraphQLNonNull) {
+            graphQLType = ((GraphQLNonNull) graphQLType).getWrappedType();
+        }
+        if (type instanceof Class<?> && (graphQLType instanceof GraphQLInputObjectType || graphQLType instanceof GraphQLTypeReference)) {
+            InputObjectConverter converter = container.getInputConverters().get(type);
+            return converter != null ? converter : new InputObjectReference((Class<?>) type, graphQLType, container);
+        } else if (type instanceof ParameterizedType && graphQLType instanceof GraphQLList) {
+            Type subType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return new ListConverter(converter(subType, ((GraphQLList) graphQLType).getWrappedType(), container));
+        } else {
+            return IDENTITY;
+        }
+    }
+
+    private static class ListConverter implements InputConverter {
+        private final InputConverter elementConverter;
+
+        private ListConverter(InputConverter elementConverter) {
+            this.elementConverter = elementConverter;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            if (value == null) {
+                return null;
+            }
+            List<?> items = (List<?>) value;
+            List<Object> list = new ArrayList<>(items.size());
+            for (Object item : items) {
+                list.add(elementConverter.convert(item));
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Links to the converter of an input object whose type was not built yet (i.e. a recursive input), resolving it on first use
+     */
+    private static class InputObjectReference implements InputConverter {
+        private final Class<?> type;
+        private final GraphQLType graphQLType;
+        private final ProcessingElementsContainer container;
+        private volatile InputConverter resolved;
+
+        private InputObjectReference(Class<?> type, GraphQLType graphQLType, ProcessingElementsContainer container) {
+            this.type = type;
+            this.graphQLType = graphQLType;
+            this.container = container;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            InputConverter converter = resolved;
+            if (converter == null) {
+                converter = resolve();
+                resolved = converter;
+            }
+            return converter.convert(value);
+        }
+
+        private InputConverter resolve() {
+            InputObjectConverter converter = container.getInputConverters().get(type);
+            if (converter != null) {
+                return converter;
+            }
+            GraphQLType actualType = graphQLType;
+            if (actualType instanceof GraphQLTypeReference) {
+                actualType = container.getTypeRegistry().get(actualType.getName());
+            }
+            if (!(actualType instanceof GraphQLInputObjectType)) {
+                return IDENTITY;
+            }
+            converter = new InputObjectConverter(type, ((GraphQLInputObjectType) actualType).getFields(), container);
+            InputObjectConverter existing = container.getInputConverters().putIfAbsent(type, converter);
+            return existing != null ? existing : converter;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
+import static graphql.annotations.processor.util.ReflectionKit.constructorInvoker;
+
+/**
+ * Builds instances of an input class out of the input map of its GraphQL input object.
+ * The constructor is bound and the converters of its parameters are resolved once, when the input type is built, so
+ * converting a value doesn't involve reflection:
+ * - If the constructor has a single parameter accepting the input map itself, the map is passed as is
+ * - else every constructor parameter is filled with the converted value of the input field of the same name
+ */
+public class InputObjectConverter implements InputConverter {
+    private final Constructor<?> constructor;
+    private final MethodHandle constructorInvoker;
+    private final Class<?> singleParameterType;
+    private final String[] names;
+    private final InputConverter[] converters;
+
+    public InputObjectConverter(Class<?> type, List<GraphQLInputObjectField> fields, ProcessingElementsContainer container) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length == 0) {
+            this.constructor = null;
+            this.constructorInvoker = null;
+            this.singleParameterType = null;
+            this.names = new String[0];
+            this.converters = new InputConverter[0];
+            return;
+        }
+        this.constructor = constructors[0];
+        this.constructorInvoker = constructorInvoker(constructor);
+
+        Map<String, GraphQLType> fieldTypes = new HashMap<>();
+        for (GraphQLInputObjectField field : fields) {
+            fieldTypes.put(field.getName(), field.getType());
+        }
+
+        Parameter[] parameters = constructor.getParameters();
+        this.singleParameterType = parameters.length == 1 ? parameters[0].getType() : null;
+        this.names = new String[parameters.length];
+        this.converters = new InputConverter[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            GraphQLName name = parameters[i].getAnnotation(GraphQLName.class);
+            names[i] = toGraphqlName(name != null ? name.value() : parameters[i].getName());
+            GraphQLType fieldType = fieldTypes.get(names[i]);
+            converters[i] = fieldType == null ? missingField(type, names[i]) :
+                    InputConverters.converter(parameters[i].getParameterizedType(), fieldType, container);
+        }
+    }
+
+    @Override
+    public Object convert(Object value) {
+        if (value == null || constructor == null) {
+            return null;
+        }
+        if (singleParameterType != null && singleParameterType.isInstance(value)) {
+            return construct(new Object[]{value});
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        Object[] args = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            args[i] = converters[i].convert(map.get(names[i]));
+        }
+        return construct(args);
+    }
+
+    private Object construct(Object[] args) {
+        try {
+            return constructorInvoker.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new GraphQLAnnotationsException("Unable to instantiate via constructor : " + constructor, e);
+        }
+    }
+
+    private static InputConverter missingField(Class<?> type, String name) {
+        return value -> {
+            throw new GraphQLAnnotationsException("No input field named " + name + " is found for " + type, null);
+        };
+    }
+}
@@ -18,15 +18,22 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 public class AsyncConnectionDataFetcher<T> implements DataFetcher<CompletableFuture<graphql.relay.Connection<T>>> {
     private final ConnectionDataFetcher connectionDataFetcher;
+    private final Executor executor;
 
-    @SuppressWarnings("unchecked")
     public AsyncConnectionDataFetcher(ConnectionDataFetcher connectionFetcher) {
+        this(connectionFetcher, ForkJoinPool.commonPool());
+    }
+
+    public AsyncConnectionDataFetcher(ConnectionDataFetcher connectionFetcher, Executor executor) {
         this.connectionDataFetcher = connectionFetcher;
+        this.executor = executor;
     }
 
     @Override
@@ -37,6 +44,6 @@ public class AsyncConnectionDataFetcher<T> implements DataFetcher<CompletableFut
             } catch (Exception e) {
                 throw new RuntimeException("Error in AsyncConnectionDataFetcher", e);
             }
-        });
+        }, executor);
     }
 }
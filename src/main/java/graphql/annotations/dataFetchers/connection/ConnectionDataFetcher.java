@@ -15,21 +15,34 @@
 package graphql.annotations.dataFetchers.connection;
 
 import graphql.annotations.connection.ConnectionFetcher;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Optional;
 
-import static graphql.annotations.processor.util.ReflectionKit.constructNewInstance;
+import static graphql.annotations.processor.util.ReflectionKit.constructorInvoker;
 
 public class ConnectionDataFetcher<T> implements DataFetcher<graphql.relay.Connection<T>> {
     private final DataFetcher<?> actualDataFetcher;
-    private final Constructor<ConnectionFetcher<T>> constructor;
+    private final MethodHandle constructor;
+    private final ConnectionFetcher<T> connectionFetcher;
 
-    @SuppressWarnings("unchecked")
     public ConnectionDataFetcher(Class<? extends ConnectionFetcher<T>> connection, DataFetcher<?> actualDataFetcher) {
+        this(connection, actualDataFetcher, false);
+    }
+
+    /**
+     * @param connection        the connection fetcher class, with a constructor taking the actual data fetcher
+     * @param actualDataFetcher the data fetcher of the field
+     * @param stateful          whether a new connection fetcher is created for every resolution of the field, instead of
+     *                          a single one created here
+     */
+    @SuppressWarnings("unchecked")
+    public ConnectionDataFetcher(Class<? extends ConnectionFetcher<T>> connection, DataFetcher<?> actualDataFetcher, boolean stateful) {
         this.actualDataFetcher =  actualDataFetcher;
         Optional<Constructor<ConnectionFetcher<T>>> constructor =
                 Arrays.stream(connection.getConstructors()).
@@ -37,15 +50,28 @@ public class ConnectionDataFetcher<T> implements DataFetcher<graphql.relay.Conne
                         map(c -> (Constructor<ConnectionFetcher<T>>) c).
                         findFirst();
         if (constructor.isPresent()) {
-            this.constructor = constructor.get();
+            this.constructor = constructorInvoker(constructor.get());
         } else {
             throw new IllegalArgumentException(connection.getSimpleName() + " doesn't have a single argument constructor");
         }
+        this.connectionFetcher = stateful ? null : newConnectionFetcher();
     }
 
     @Override
     public graphql.relay.Connection<T> get(DataFetchingEnvironment environment) throws Exception {
-        ConnectionFetcher<T> conn = constructNewInstance(constructor, actualDataFetcher);
+        ConnectionFetcher<T> conn = connectionFetcher != null ? connectionFetcher : newConnectionFetcher();
         return conn.get(environment);
     }
+
+    @SuppressWarnings("unchecked")
+    private ConnectionFetcher<T> newConnectionFetcher() {
+        try {
+            Object connection = constructor.invokeExact(new Object[]{actualDataFetcher});
+            return (ConnectionFetcher<T>) connection;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new GraphQLAnnotationsException("Unable to instantiate connection fetcher", e);
+        }
+    }
 }
@@ -15,7 +15,6 @@
 package graphql.annotations.dataFetchers.connection;
 
 import graphql.annotations.processor.util.Base64;
-import graphql.relay.ConnectionCursor;
 import graphql.relay.DefaultConnection;
 import graphql.relay.DefaultConnectionCursor;
 import graphql.relay.DefaultEdge;
@@ -25,13 +24,19 @@ import graphql.relay.PageInfo;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static graphql.annotations.processor.util.RelayKit.EMPTY_CONNECTION;
 
+/**
+ * A connection over a stream, which only consumes the stream up to the requested page, and keeps at most the elements
+ * of the page (and one more element for the next page check) in memory
+ */
 public class StreamConnection implements DataFetcher, Connection {
 
     private final Stream<?> stream;
@@ -41,55 +46,66 @@ public class StreamConnection implements DataFetcher, Connection {
         this.stream = stream;
     }
 
-    private Stream<Edge<Object>> buildEdges() {
-        AtomicInteger ix = new AtomicInteger();
-        return stream.map(obj -> {
-            ConnectionCursor connectionCursor = new DefaultConnectionCursor(createCursor(ix.incrementAndGet()));
-            return new DefaultEdge<>(obj, connectionCursor);
-        });
-    }
-
-
     @Override
     public Object get(DataFetchingEnvironment environment) {
 
         int afterOffset = getOffsetFromCursor(environment.getArgument("after"), 0);
         int beforeOffset = getOffsetFromCursor(environment.getArgument("before"), Integer.MAX_VALUE);
 
-        Stream<Edge<Object>> edgesStream = buildEdges().skip(afterOffset).limit(beforeOffset - afterOffset);
-
-        List<Edge<Object>> edges = edgesStream.collect(Collectors.toList());
-
-        if (edges.size() == 0) {
-            return EMPTY_CONNECTION;
-        }
-
         Integer first = environment.<Integer>getArgument("first");
         Integer last = environment.<Integer>getArgument("last");
 
-        ConnectionCursor firstPresliceCursor = edges.get(0).getCursor();
-        ConnectionCursor lastPresliceCursor = edges.get(edges.size() - 1).getCursor();
+        Iterator<?> window = stream.skip(afterOffset).limit(Math.max(0L, (long) beforeOffset - afterOffset - 1)).iterator();
 
+        // index in the window of the first element of the page
+        long pageOffset = 0;
+        boolean hasNext = false;
+        Deque<Object> page;
         if (first != null) {
-            edges = edges.subList(0, first <= edges.size() ? first : edges.size());
-        }
-        if (last != null) {
-            edges = edges.subList(edges.size() - last, edges.size());
+            page = new ArrayDeque<>();
+            while (page.size() < first && window.hasNext()) {
+                page.add(window.next());
+            }
+            hasNext = window.hasNext();
+            if (last != null) {
+                while (page.size() > last) {
+                    page.removeFirst();
+                    pageOffset++;
+                }
+            }
+        } else if (last != null) {
+            page = new ArrayDeque<>(Math.max(last, 1));
+            while (window.hasNext()) {
+                Object element = window.next();
+                if (last <= 0) {
+                    pageOffset++;
+                    continue;
+                }
+                if (page.size() == last) {
+                    page.removeFirst();
+                    pageOffset++;
+                }
+                page.add(element);
+            }
+        } else {
+            page = new ArrayDeque<>();
+            window.forEachRemaining(page::add);
         }
 
-        if (edges.size() == 0) {
+        if (page.isEmpty()) {
             return EMPTY_CONNECTION;
         }
 
-        Edge firstEdge = edges.get(0);
-        Edge lastEdge = edges.get(edges.size() - 1);
-        boolean hasPrevious = !firstEdge.getCursor().equals(firstPresliceCursor);
-        boolean hasNext = !lastEdge.getCursor().equals(lastPresliceCursor);
+        List<Edge<Object>> edges = new ArrayList<>(page.size());
+        long offset = afterOffset + pageOffset;
+        for (Object node : page) {
+            edges.add(new DefaultEdge<>(node, new DefaultConnectionCursor(createCursor(++offset))));
+        }
 
         PageInfo pageInfo = new DefaultPageInfo(
-                firstEdge.getCursor(),
-                lastEdge.getCursor(),
-                hasPrevious, hasNext
+                edges.get(0).getCursor(),
+                edges.get(edges.size() - 1).getCursor(),
+                pageOffset > 0, hasNext
         );
 
         return new DefaultConnection<>(edges, pageInfo);
@@ -101,8 +117,8 @@ public class StreamConnection implements DataFetcher, Connection {
         return Integer.parseInt(string.substring(DUMMY_CURSOR_PREFIX.length()));
     }
 
-    private String createCursor(int offset) {
-        return Base64.toBase64(DUMMY_CURSOR_PREFIX + Integer.toString(offset));
+    private String createCursor(long offset) {
+        return Base64.toBase64(DUMMY_CURSOR_PREFIX + Long.toString(offset));
     }
 
 }
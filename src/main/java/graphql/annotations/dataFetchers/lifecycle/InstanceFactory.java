@@ -0,0 +1,133 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.lifecycle;
+
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.annotations.processor.util.ReflectionKit;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static graphql.annotations.processor.util.ReflectionKit.unreflect;
+
+/**
+ * Creates the instances of a class the fields are resolved on, through method handles that are bound once per class
+ * (and once per source class for instances wrapping a source object), instead of reflective lookups on every call
+ */
+public class InstanceFactory {
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType WRAPPING_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle NO_CONSTRUCTOR = MethodHandles.dropArguments(
+            MethodHandles.constant(Object.class, null), 0, Object.class);
+
+    private static final ClassValue<InstanceFactory> FACTORIES = new ClassValue<InstanceFactory>() {
+        @Override
+        protected InstanceFactory computeValue(Class<?> type) {
+            return new InstanceFactory(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final MethodHandle factory;
+    private final ClassValue<MethodHandle> wrappingConstructors;
+
+    private InstanceFactory(Class<?> type) {
+        this.type = type;
+        this.factory = findFactory(type);
+        this.wrappingConstructors = new ClassValue<MethodHandle>() {
+            @Override
+            protected MethodHandle computeValue(Class<?> sourceClass) {
+                return findWrappingConstructor(type, sourceClass);
+            }
+        };
+    }
+
+    public static InstanceFactory of(Class<?> type) {
+        return FACTORIES.get(type);
+    }
+
+    /**
+     * Creates a detached instance, using the static `getInstance` method of the class if present, or its default constructor
+     *
+     * @return a new instance
+     * @throws GraphQLAnnotationsException if the class cannot be instantiated
+     */
+    public Object newInstance() throws GraphQLAnnotationsException {
+        if (factory == null) {
+            return ReflectionKit.newInstance(type);
+        }
+        try {
+            return factory.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new GraphQLAnnotationsException("Unable to instantiate class : " + type, e);
+        }
+    }
+
+    /**
+     * Creates an instance wrapping a source object, using the first public constructor with a single parameter that
+     * accepts the source object
+     *
+     * @param source the source object
+     * @return a new instance, or null if there is no such constructor or the source object is null
+     * @throws GraphQLAnnotationsException if the constructor fails
+     */
+    public Object newInstance(Object source) throws GraphQLAnnotationsException {
+        if (source == null) {
+            return null;
+        }
+        try {
+            return wrappingConstructors.get(source.getClass()).invokeExact(source);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new GraphQLAnnotationsException("Unable to instantiate class : " + type, e);
+        }
+    }
+
+    private static MethodHandle findFactory(Class<?> type) {
+        try {
+            Method getInstance = type.getMethod("getInstance");
+            if (Modifier.isStatic(getInstance.getModifiers()) && type.isAssignableFrom(getInstance.getReturnType())) {
+                return unreflect(getInstance).asType(FACTORY_TYPE);
+            }
+        } catch (NoSuchMethodException | GraphQLAnnotationsException e) {
+            // ignore, just call the constructor
+        }
+        try {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            return unreflect(type.getDeclaredConstructor()).asType(FACTORY_TYPE);
+        } catch (NoSuchMethodException | GraphQLAnnotationsException e) {
+            // the failure is reported when an instance is created
+            return null;
+        }
+    }
+
+    private static MethodHandle findWrappingConstructor(Class<?> type, Class<?> sourceClass) {
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0].isAssignableFrom(sourceClass)) {
+                return unreflect(constructor).asType(WRAPPING_CONSTRUCTOR_TYPE);
+            }
+        }
+        return NO_CONSTRUCTOR;
+    }
+}
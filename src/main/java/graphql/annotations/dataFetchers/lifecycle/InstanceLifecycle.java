@@ -0,0 +1,36 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.lifecycle;
+
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.function.Function;
+
+/**
+ * Decides when the objects a field is resolved on are created and when they are reused. It applies to the instances of
+ * a {@link graphql.annotations.annotationTypes.GraphQLInvokeDetached} method class, and to the instances of a
+ * {@link graphql.annotations.annotationTypes.GraphQLTypeExtension} class that wrap the source object.
+ * One lifecycle is created per class and lifecycle type, and shared by all the fields of that class, so implementations
+ * may keep the instances they reuse in fields.
+ */
+public interface InstanceLifecycle {
+    /**
+     * @param environment the environment of the current field resolution
+     * @param source      the source object the instance wraps, or null for a detached instance
+     * @param factory     creates a new instance for a source object
+     * @return the object to resolve the field on
+     */
+    Object getInstance(DataFetchingEnvironment environment, Object source, Function<Object, Object> factory);
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.lifecycle;
+
+import graphql.execution.ExecutionId;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates one instance per execution (and per source object, for type extensions), and reuses it for every resolution
+ * of the fields of the class within that execution. Instances are released once the {@link ExecutionId} of their execution is no
+ * longer referenced.
+ */
+public class PerRequestInstanceLifecycle implements InstanceLifecycle {
+    private final Map<ExecutionId, Map<Object, Object>> instances = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public Object getInstance(DataFetchingEnvironment environment, Object source, Function<Object, Object> factory) {
+        ExecutionId executionId = environment.getExecutionId();
+        if (executionId == null) {
+            return factory.apply(source);
+        }
+        Map<Object, Object> executionInstances = instances.computeIfAbsent(executionId,
+                id -> Collections.synchronizedMap(new IdentityHashMap<>()));
+        return executionInstances.computeIfAbsent(source, factory);
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.lifecycle;
+
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.function.Function;
+
+/**
+ * Creates a single instance on first use and reuses it for every resolution of the fields of the class.
+ * Since the instance doesn't depend on the source object, it can only be used for detached instances.
+ */
+public class SingletonInstanceLifecycle implements InstanceLifecycle {
+    private volatile Object instance;
+
+    @Override
+    public Object getInstance(DataFetchingEnvironment environment, Object source, Function<Object, Object> factory) {
+        Object result = instance;
+        if (result == null) {
+            synchronized (this) {
+                result = instance;
+                if (result == null) {
+                    result = factory.apply(source);
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+}
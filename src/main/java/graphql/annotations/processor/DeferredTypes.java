@@ -0,0 +1,171 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor;
+
+import graphql.annotations.annotationTypes.GraphQLLazy;
+import graphql.schema.GraphQLModifiedType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The object types whose build is deferred when a partial schema is built. A deferred type is referred to by a
+ * {@link GraphQLTypeReference} while the types are built, and the fields of that type are left out of the types
+ * referring to it, until the deferred types are materialized.
+ */
+public class DeferredTypes {
+
+    private boolean enabled;
+    private int maxDepth = -1;
+    private final Map<String, Supplier<GraphQLType>> deferred = new LinkedHashMap<>();
+    private final Set<String> deferredTypeNames = new HashSet<>();
+    private final Set<String> deferredWrapperNames = new HashSet<>();
+    // the number of fields from the root types to the type being built
+    private int depth;
+
+    /**
+     * Defers the types of the classes annotated with {@link GraphQLLazy}, and the types reached through more than
+     * maxDepth fields from the root types
+     *
+     * @param maxDepth the depth from which types are deferred, or -1 to defer only the annotated types
+     */
+    public void enable(int maxDepth) {
+        this.enabled = true;
+        this.maxDepth = maxDepth;
+    }
+
+    public void disable() {
+        this.enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Builds the type of a field, one field deeper than the type declaring the field
+     *
+     * @param build builds the type of the field
+     * @param <T>   the type of the field
+     * @return the type of the field
+     */
+    public <T extends GraphQLType> T fieldType(Supplier<T> build) {
+        depth++;
+        try {
+            return build.get();
+        } finally {
+            depth--;
+        }
+    }
+
+    /**
+     * @param objectClass the class of an object type
+     * @return true if the type should be deferred, when it is needed at the current depth
+     */
+    public boolean shouldDefer(Class<?> objectClass) {
+        return enabled && depth > 0
+                && (objectClass.isAnnotationPresent(GraphQLLazy.class) || (maxDepth >= 0 && depth > maxDepth));
+    }
+
+    /**
+     * @param typeName the name of the type
+     * @param build    builds the type when it is materialized, at the depth it was deferred at
+     */
+    public void defer(String typeName, Supplier<GraphQLType> build) {
+        int typeDepth = depth;
+        deferred.putIfAbsent(typeName, () -> {
+            int currentDepth = depth;
+            depth = typeDepth;
+            try {
+                return build.get();
+            } finally {
+                depth = currentDepth;
+            }
+        });
+        deferredTypeNames.add(typeName);
+    }
+
+    /**
+     * Records a type wrapping a deferred type, such as a connection type, whose fields are left out as well
+     *
+     * @param typeName the name of the type
+     */
+    public void deferWrapper(String typeName) {
+        deferredWrapperNames.add(typeName);
+    }
+
+    public boolean isDeferred(String typeName) {
+        return deferred.containsKey(typeName);
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return true if the field is left out because its type is deferred
+     */
+    public boolean isDeferred(GraphQLType fieldType) {
+        GraphQLType type = fieldType;
+        while (type instanceof GraphQLModifiedType) {
+            type = ((GraphQLModifiedType) type).getWrappedType();
+        }
+        String name = type.getName();
+        return deferred.containsKey(name) || deferredWrapperNames.contains(name);
+    }
+
+    /**
+     * Builds a deferred type when its definition is needed while the types are built
+     *
+     * @param type a type
+     * @return the built type if the type is a reference to a deferred type, the type itself otherwise
+     */
+    public GraphQLType materialize(GraphQLType type) {
+        if (type instanceof GraphQLTypeReference && deferred.containsKey(type.getName())) {
+            return deferred.remove(type.getName()).get();
+        }
+        return type;
+    }
+
+    /**
+     * @return the names of all the types deferred so far, including the ones materialized since
+     */
+    public Set<String> getDeferredTypeNames() {
+        return deferredTypeNames;
+    }
+
+    public void clear() {
+        deferred.clear();
+        deferredTypeNames.clear();
+        deferredWrapperNames.clear();
+    }
+
+    public DeferredTypes copy() {
+        DeferredTypes copy = new DeferredTypes();
+        copy.enabled = enabled;
+        copy.maxDepth = maxDepth;
+        copy.depth = depth;
+        copy.deferred.putAll(deferred);
+        copy.deferredTypeNames.addAll(deferredTypeNames);
+        copy.deferredWrapperNames.addAll(deferredWrapperNames);
+        return copy;
+    }
+}
@@ -32,9 +32,13 @@ import graphql.relay.Relay;
 import graphql.schema.GraphQLDirective;
 import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLObjectType;
+import org.dataloader.DataLoaderRegistry;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
 
@@ -105,45 +109,42 @@ public class GraphQLAnnotations implements GraphQLAnnotationsProcessor {
     }
 
     public GraphQLInterfaceType generateInterface(Class<?> object) throws GraphQLAnnotationsException {
-        try {
-            return this.graphQLObjectHandler.getGraphQLType(object, this.getContainer());
-        } catch (GraphQLAnnotationsException e) {
-            this.getContainer().getProcessing().clear();
-            this.getTypeRegistry().clear();
-            throw e;
-        }
+        return rollbackOnFailure(() -> this.graphQLObjectHandler.getGraphQLType(object, this.getContainer()));
     }
 
     public GraphQLObjectType object(Class<?> object) throws GraphQLAnnotationsException {
-        try {
-            return this.graphQLObjectHandler.getGraphQLType(object, this.getContainer());
-        } catch (GraphQLAnnotationsException e) {
-            this.getContainer().getProcessing().clear();
-            this.getTypeRegistry().clear();
-            throw e;
-        }
+        return rollbackOnFailure(() -> this.graphQLObjectHandler.getGraphQLType(object, this.getContainer()));
     }
 
     @Deprecated
     public GraphQLObjectType object(Class<?> object, GraphQLDirective... directives) throws GraphQLAnnotationsException {
         Arrays.stream(directives).forEach(directive -> this.getContainer().getDirectiveRegistry().put(directive.getName(), directive));
-        try {
-            return this.graphQLObjectHandler.getGraphQLType(object, this.getContainer());
-        } catch (GraphQLAnnotationsException e) {
-            this.getContainer().getProcessing().clear();
-            this.getTypeRegistry().clear();
-            throw e;
-        }
+        return rollbackOnFailure(() -> this.graphQLObjectHandler.getGraphQLType(object, this.getContainer()));
     }
 
     public GraphQLDirective directive(Class<?> object) throws GraphQLAnnotationsException {
-        try {
+        return rollbackOnFailure(() -> {
             GraphQLDirective directive = this.directiveCreator.getDirective(object);
             this.getContainer().getDirectiveRegistry().put(directive.getName(), directive);
             return directive;
+        });
+    }
+
+    /**
+     * Removes the types registered by a failed build, since they may refer to the types which couldn't be built.
+     * The types built before are kept.
+     */
+    private <T> T rollbackOnFailure(Supplier<T> build) {
+        Set<String> existingTypes = new HashSet<>(this.getTypeRegistry().keySet());
+        try {
+            return build.get();
         } catch (GraphQLAnnotationsException e) {
+            Set<String> failedTypes = new HashSet<>(this.getContainer().getProcessing());
+            failedTypes.addAll(this.getTypeRegistry().keySet());
+            failedTypes.removeAll(existingTypes);
             this.getContainer().getProcessing().clear();
-            this.getTypeRegistry().clear();
+            this.getTypeRegistry().keySet().removeAll(failedTypes);
+            this.getContainer().getTypeDependencies().remove(failedTypes);
             throw e;
         }
     }
@@ -161,6 +162,18 @@ public class GraphQLAnnotations implements GraphQLAnnotationsProcessor {
         this.registerTypeFunction(typeFunction);
     }
 
+    /**
+     * Creates the DataLoaders of the fields annotated with {@link graphql.annotations.annotationTypes.GraphQLDataLoader}.
+     * Since DataLoaders batch and cache the loads of an execution, a new registry should be created for every execution.
+     *
+     * @return a new registry, to be set on the {@link graphql.ExecutionInput}
+     */
+    public DataLoaderRegistry newDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        container.getDataLoaders().forEach((name, dataLoader) -> registry.register(name, dataLoader.get()));
+        return registry;
+    }
+
     public Map<String, graphql.schema.GraphQLType> getTypeRegistry() {
         return container.getTypeRegistry();
     }
@@ -15,18 +15,26 @@
 package graphql.annotations.processor;
 
 
+import graphql.annotations.dataFetchers.arguments.InputObjectConverter;
+import graphql.annotations.dataFetchers.lifecycle.InstanceLifecycle;
 import graphql.annotations.processor.graphQLProcessors.GraphQLInputProcessor;
 import graphql.annotations.processor.graphQLProcessors.GraphQLOutputProcessor;
 import graphql.annotations.processor.typeFunctions.DefaultTypeFunction;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
+import graphql.annotations.typeResolvers.ClassTypeResolver;
 import graphql.relay.Relay;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLDirective;
+import org.dataloader.DataLoader;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import static graphql.annotations.processor.util.InputPropertiesUtil.DEFAULT_INPUT_PREFIX;
 import static graphql.annotations.processor.util.InputPropertiesUtil.DEFAULT_INPUT_SUFFIX;
@@ -43,6 +51,14 @@ public class ProcessingElementsContainer {
     private Stack<String> processing;
     private String inputPrefix = DEFAULT_INPUT_PREFIX;
     private String inputSuffix = DEFAULT_INPUT_SUFFIX;
+    private Map<Class<?>, InputObjectConverter> inputConverters = new ConcurrentHashMap<>();
+    private Map<String, Supplier<DataLoader<?, ?>>> dataLoaders = new ConcurrentHashMap<>();
+    private Executor connectionExecutor = ForkJoinPool.commonPool();
+    private Map<Class<?>, Executor> connectionExecutors = new ConcurrentHashMap<>();
+    private Map<Class<?>, Map<Class<? extends InstanceLifecycle>, InstanceLifecycle>> instanceLifecycles = new ConcurrentHashMap<>();
+    private ClassTypeResolver classTypeResolver = new ClassTypeResolver();
+    private TypeDependencyGraph typeDependencies = new TypeDependencyGraph();
+    private DeferredTypes deferredTypes = new DeferredTypes();
 
     public Map<String, GraphQLDirective> getDirectiveRegistry() {
         return directiveRegistry;
@@ -129,6 +145,70 @@ public class ProcessingElementsContainer {
         this.inputSuffix = inputSuffix;
     }
 
+    public Map<Class<?>, InputObjectConverter> getInputConverters() {
+        return inputConverters;
+    }
+
+    public void setInputConverters(Map<Class<?>, InputObjectConverter> inputConverters) {
+        this.inputConverters = inputConverters;
+    }
+
+    public Map<String, Supplier<DataLoader<?, ?>>> getDataLoaders() {
+        return dataLoaders;
+    }
+
+    public void setDataLoaders(Map<String, Supplier<DataLoader<?, ?>>> dataLoaders) {
+        this.dataLoaders = dataLoaders;
+    }
+
+    public Executor getConnectionExecutor() {
+        return connectionExecutor;
+    }
+
+    public void setConnectionExecutor(Executor connectionExecutor) {
+        this.connectionExecutor = connectionExecutor;
+    }
+
+    public Map<Class<?>, Executor> getConnectionExecutors() {
+        return connectionExecutors;
+    }
+
+    public void setConnectionExecutors(Map<Class<?>, Executor> connectionExecutors) {
+        this.connectionExecutors = connectionExecutors;
+    }
+
+    public Map<Class<?>, Map<Class<? extends InstanceLifecycle>, InstanceLifecycle>> getInstanceLifecycles() {
+        return instanceLifecycles;
+    }
+
+    public void setInstanceLifecycles(Map<Class<?>, Map<Class<? extends InstanceLifecycle>, InstanceLifecycle>> instanceLifecycles) {
+        this.instanceLifecycles = instanceLifecycles;
+    }
+
+    public ClassTypeResolver getClassTypeResolver() {
+        return classTypeResolver;
+    }
+
+    public void setClassTypeResolver(ClassTypeResolver classTypeResolver) {
+        this.classTypeResolver = classTypeResolver;
+    }
+
+    public TypeDependencyGraph getTypeDependencies() {
+        return typeDependencies;
+    }
+
+    public void setTypeDependencies(TypeDependencyGraph typeDependencies) {
+        this.typeDependencies = typeDependencies;
+    }
+
+    public DeferredTypes getDeferredTypes() {
+        return deferredTypes;
+    }
+
+    public void setDeferredTypes(DeferredTypes deferredTypes) {
+        this.deferredTypes = deferredTypes;
+    }
+
     public void setCodeRegistryBuilder(GraphQLCodeRegistry.Builder builder) {
         this.codeRegistryBuilder = builder;
     }
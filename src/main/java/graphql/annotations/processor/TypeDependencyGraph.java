@@ -0,0 +1,132 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor;
+
+import graphql.annotations.processor.util.ClassMetadata;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records, while the types are built, which types each type refers to and which classes it was built from.
+ * Since a type holds the instances of the types it refers to, replacing a type requires to rebuild the types referring
+ * to it as well; the graph gives the types to rebuild when some classes change.
+ */
+public class TypeDependencyGraph {
+
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Map<String, Set<Class<?>>> sources = new HashMap<>();
+
+    /**
+     * Records that a type refers to another type
+     *
+     * @param typeName       the name of the type
+     * @param dependencyName the name of the type it refers to
+     */
+    public void addDependency(String typeName, String dependencyName) {
+        if (!typeName.equals(dependencyName)) {
+            dependencies.computeIfAbsent(typeName, name -> new HashSet<>()).add(dependencyName);
+            dependents.computeIfAbsent(dependencyName, name -> new HashSet<>()).add(typeName);
+        }
+    }
+
+    /**
+     * Records that a type is built from a class: the class of the type itself, or a class extending it
+     *
+     * @param typeName the name of the type
+     * @param source   the class
+     */
+    public void addSource(String typeName, Class<?> source) {
+        sources.computeIfAbsent(typeName, name -> new HashSet<>()).add(source);
+    }
+
+    /**
+     * Returns the types built from the changed classes (or from their subclasses), and all the types referring to them,
+     * directly or not. Classes are compared by name, so the new versions of reloaded classes can be given.
+     *
+     * @param changedClasses the changed classes
+     * @return the names of the types to rebuild
+     */
+    public Set<String> getAffectedTypes(Collection<Class<?>> changedClasses) {
+        Set<String> changedNames = new HashSet<>();
+        changedClasses.forEach(aClass -> changedNames.add(aClass.getName()));
+
+        Set<String> changedTypes = new HashSet<>();
+        sources.forEach((typeName, typeSources) -> {
+            if (typeSources.stream().anyMatch(source -> ClassMetadata.of(source).getBreadthFirstHierarchy().stream()
+                    .anyMatch(aClass -> changedNames.contains(aClass.getName())))) {
+                changedTypes.add(typeName);
+            }
+        });
+        return getDependents(changedTypes);
+    }
+
+    /**
+     * @param typeName the name of a type
+     * @return the names of the types referring to the type
+     */
+    public Set<String> getDirectDependents(String typeName) {
+        return dependents.getOrDefault(typeName, new HashSet<>());
+    }
+
+    /**
+     * @param typeNames the names of some types
+     * @return the given types, and all the types referring to them, directly or not
+     */
+    public Set<String> getDependents(Collection<String> typeNames) {
+        Deque<String> queue = new ArrayDeque<>(typeNames);
+        Set<String> affected = new LinkedHashSet<>();
+        while (!queue.isEmpty()) {
+            String typeName = queue.remove();
+            if (affected.add(typeName)) {
+                queue.addAll(dependents.getOrDefault(typeName, new HashSet<>()));
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Forgets what was recorded for some types, before they are rebuilt or after they failed to build
+     *
+     * @param typeNames the names of the types
+     */
+    public void remove(Collection<String> typeNames) {
+        for (String typeName : typeNames) {
+            sources.remove(typeName);
+            for (String dependency : dependencies.getOrDefault(typeName, new HashSet<>())) {
+                Set<String> dependencyDependents = dependents.get(dependency);
+                if (dependencyDependents != null) {
+                    dependencyDependents.remove(typeName);
+                }
+            }
+            dependencies.remove(typeName);
+        }
+    }
+
+    public TypeDependencyGraph copy() {
+        TypeDependencyGraph copy = new TypeDependencyGraph();
+        dependencies.forEach((typeName, names) -> copy.dependencies.put(typeName, new HashSet<>(names)));
+        dependents.forEach((typeName, names) -> copy.dependents.put(typeName, new HashSet<>(names)));
+        sources.forEach((typeName, classes) -> copy.sources.put(typeName, new HashSet<>(classes)));
+        return copy;
+    }
+}
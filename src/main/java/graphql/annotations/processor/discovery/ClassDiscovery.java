@@ -0,0 +1,161 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.discovery;
+
+import graphql.annotations.processor.util.ClassMetadata;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Walks the classes reachable from the schema classes, such as the classes a schema snapshot depends on. From a class,
+ * the walk follows its superclass and interfaces, and the types and annotation attributes of its methods, fields and
+ * parameters annotated with the annotations of this library. Classes of the java and javax packages are not walked.
+ */
+public class ClassDiscovery {
+    private static final String ANNOTATIONS_PACKAGE = "graphql.annotations.";
+
+    private final Set<Class<?>> discovered = new LinkedHashSet<>();
+    private final Deque<Class<?>> pending = new ArrayDeque<>();
+    private final Set<TypeVariable<?>> visitedVariables = new HashSet<>();
+
+    /**
+     * @param roots the classes of the schema (query, mutation, additional types, type extensions, directives)
+     * @return the classes reachable from the roots, including the roots, in discovery order
+     */
+    public Set<Class<?>> discover(Collection<Class<?>> roots) {
+        roots.forEach(this::add);
+        while (!pending.isEmpty()) {
+            visit(pending.poll());
+        }
+        return Collections.unmodifiableSet(discovered);
+    }
+
+    private void add(Class<?> aClass) {
+        if (isDiscoverable(aClass) && discovered.add(aClass)) {
+            pending.add(aClass);
+        }
+    }
+
+    private static boolean isDiscoverable(Class<?> aClass) {
+        if (aClass == null || aClass.isPrimitive() || aClass.isArray()) {
+            return false;
+        }
+        String name = aClass.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    private void visit(Class<?> aClass) {
+        addAnnotationReferences(aClass);
+        add(aClass.getSuperclass());
+        for (Class<?> anInterface : aClass.getInterfaces()) {
+            add(anInterface);
+        }
+
+        ClassMetadata metadata = ClassMetadata.of(aClass);
+        for (Method method : metadata.getOrderedMethods()) {
+            if (addAnnotationReferences(method)) {
+                addReferences(method.getGenericReturnType());
+                for (Parameter parameter : method.getParameters()) {
+                    addAnnotationReferences(parameter);
+                    addReferences(parameter.getParameterizedType());
+                }
+            }
+        }
+        for (Field field : metadata.getAllFields().values()) {
+            if (isDiscoverable(field.getDeclaringClass()) && addAnnotationReferences(field)) {
+                addReferences(field.getGenericType());
+            }
+        }
+    }
+
+    /**
+     * Adds the classes referenced by the annotations of this library on an element, such as union possible types, type
+     * resolvers, type functions or data fetchers
+     *
+     * @return true if the element has an annotation of this library
+     */
+    private boolean addAnnotationReferences(AnnotatedElement element) {
+        boolean annotated = false;
+        for (Annotation annotation : element.getAnnotations()) {
+            if (!annotation.annotationType().getName().startsWith(ANNOTATIONS_PACKAGE)) {
+                continue;
+            }
+            annotated = true;
+            for (Method attribute : annotation.annotationType().getDeclaredMethods()) {
+                if (attribute.getReturnType() == Class.class || attribute.getReturnType() == Class[].class) {
+                    addAttributeReferences(invoke(attribute, annotation));
+                }
+            }
+        }
+        return annotated;
+    }
+
+    private void addAttributeReferences(Object value) {
+        if (value instanceof Class) {
+            add((Class<?>) value);
+        } else if (value instanceof Class[]) {
+            for (Class<?> aClass : (Class<?>[]) value) {
+                add(aClass);
+            }
+        }
+    }
+
+    private static Object invoke(Method attribute, Annotation annotation) {
+        try {
+            return attribute.invoke(annotation);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    private void addReferences(Type type) {
+        if (type instanceof Class) {
+            Class<?> c = (Class<?>) type;
+            add(c.isArray() ? c.getComponentType() : c);
+        } else if (type instanceof ParameterizedType) {
+            addReferences(((ParameterizedType) type).getRawType());
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                addReferences(argument);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addReferences(((GenericArrayType) type).getGenericComponentType());
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                addReferences(bound);
+            }
+        } else if (type instanceof TypeVariable && visitedVariables.add((TypeVariable<?>) type)) {
+            for (Type bound : ((TypeVariable<?>) type).getBounds()) {
+                addReferences(bound);
+            }
+        }
+    }
+}
@@ -46,12 +46,15 @@ public class GraphQLExtensionsHandler {
         List<GraphQLFieldDefinition> fields = new ArrayList<>();
         if (container.getExtensionsTypeRegistry().containsKey(object)) {
             for (Class<?> aClass : container.getExtensionsTypeRegistry().get(object)) {
+                if (!container.getProcessing().isEmpty()) {
+                    container.getTypeDependencies().addSource(container.getProcessing().peek(), aClass);
+                }
                 for (Method method : graphQLObjectInfoRetriever.getOrderedMethods(aClass)) {
                     if (method.isBridge() || method.isSynthetic()) {
                         continue;
                     }
                     if (methodSearchAlgorithm.isFound(method)) {
-                        addExtensionField(fieldRetriever.getField(object.getSimpleName(), method, container), fields, definedFields);
+                        addExtensionField(fieldRetriever.getField(object.getSimpleName(), method, container), fields, definedFields, container);
                     }
                 }
                 for (Field field : getAllFields(aClass).values()) {
@@ -59,7 +62,7 @@ public class GraphQLExtensionsHandler {
                         continue;
                     }
                     if (fieldSearchAlgorithm.isFound(field)) {
-                        addExtensionField(fieldRetriever.getField(object.getSimpleName(), field, container), fields, definedFields);
+                        addExtensionField(fieldRetriever.getField(object.getSimpleName(), field, container), fields, definedFields, container);
                     }
                 }
             }
@@ -67,7 +70,10 @@ public class GraphQLExtensionsHandler {
         return fields;
     }
 
-    private void addExtensionField(GraphQLFieldDefinition gqlField, List<GraphQLFieldDefinition> fields, List<String> definedFields) {
+    private void addExtensionField(GraphQLFieldDefinition gqlField, List<GraphQLFieldDefinition> fields, List<String> definedFields, ProcessingElementsContainer container) {
+        if (container.getDeferredTypes().isDeferred(gqlField.getType())) {
+            return;
+        }
         if (!definedFields.contains(gqlField.getName())) {
             definedFields.add(gqlField.getName());
             fields.add(gqlField);
@@ -17,9 +17,11 @@ package graphql.annotations.processor.retrievers;
 
 import graphql.annotations.annotationTypes.GraphQLRelayMutation;
 import graphql.annotations.connection.GraphQLConnection;
+import graphql.annotations.dataFetchers.ClientMutationIdDataFetcher;
 import graphql.annotations.directives.DirectiveWirer;
 import graphql.annotations.directives.DirectiveWiringMapRetriever;
 import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.TypeDependencyGraph;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.retrievers.fieldBuilders.ArgumentBuilder;
 import graphql.annotations.processor.retrievers.fieldBuilders.DeprecateBuilder;
@@ -57,6 +59,8 @@ import static graphql.schema.GraphQLInputObjectField.newInputObjectField;
 @Component(service = GraphQLFieldRetriever.class, immediate = true)
 public class GraphQLFieldRetriever {
 
+    private static final String CLIENT_MUTATION_ID = "clientMutationId";
+
     private DataFetcherConstructor dataFetcherConstructor;
 
     private boolean alwaysPrettify = false;
@@ -74,11 +78,12 @@ public class GraphQLFieldRetriever {
         TypeFunction typeFunction = getTypeFunction(method, container);
         String fieldName = new MethodNameBuilder(method).alwaysPrettify(alwaysPrettify).build();
         builder.name(fieldName);
-        GraphQLOutputType outputType = (GraphQLOutputType) new MethodTypeBuilder(method, typeFunction, container, false).build();
+        GraphQLOutputType outputType = container.getDeferredTypes().fieldType(() ->
+                (GraphQLOutputType) new MethodTypeBuilder(method, typeFunction, container, false).build());
 
         boolean isConnection = ConnectionUtil.isConnection(method, outputType);
         if (isConnection) {
-            outputType = getGraphQLConnection(method, outputType, ConnectionUtil.getRelay(method, container), container.getTypeRegistry());
+            outputType = getGraphQLConnection(method, outputType, ConnectionUtil.getRelay(method, container), container);
             builder.arguments(ConnectionUtil.getRelay(method, container).getConnectionFieldArguments());
         }
         builder.type(outputType);
@@ -90,7 +95,7 @@ public class GraphQLFieldRetriever {
                 .deprecate(new DeprecateBuilder(method).build())
                 .build();
 
-        DataFetcher dataFetcher = new MethodDataFetcherBuilder(method, outputType, typeFunction, container, relayFieldDefinition, args, dataFetcherConstructor, isConnection).build();
+        DataFetcher dataFetcher = new MethodDataFetcherBuilder(method, outputType, typeFunction, container, relayFieldDefinition, dataFetcherConstructor, isConnection).build();
         container.getCodeRegistryBuilder().dataFetcher(coordinates(parentName, fieldName), dataFetcher);
 
         return (GraphQLFieldDefinition) new DirectiveWirer().wire(builder.build(),
@@ -104,10 +109,11 @@ public class GraphQLFieldRetriever {
         builder.name(fieldName);
         TypeFunction typeFunction = getTypeFunction(field, container);
 
-        GraphQLType outputType = typeFunction.buildType(field.getType(), field.getAnnotatedType(), container);
+        GraphQLType outputType = container.getDeferredTypes().fieldType(() ->
+                typeFunction.buildType(field.getType(), field.getAnnotatedType(), container));
         boolean isConnection = ConnectionUtil.isConnection(field, outputType);
         if (isConnection) {
-            outputType = getGraphQLConnection(field, outputType, ConnectionUtil.getRelay(field, container), container.getTypeRegistry());
+            outputType = getGraphQLConnection(field, outputType, ConnectionUtil.getRelay(field, container), container);
             builder.arguments(ConnectionUtil.getRelay(field, container).getConnectionFieldArguments());
         }
 
@@ -156,7 +162,8 @@ public class GraphQLFieldRetriever {
             // Getting the data fetcher from the old field type and putting it as the new type
             String newParentType = relayFieldDefinition.getType().getName();
             relayFieldDefinition.getType().getChildren().forEach(field -> {
-                DataFetcher dataFetcher = CodeRegistryUtil.getDataFetcher(container.getCodeRegistryBuilder(), outputType.getName(), (GraphQLFieldDefinition) field);
+                DataFetcher dataFetcher = CLIENT_MUTATION_ID.equals(field.getName()) ? new ClientMutationIdDataFetcher() :
+                        CodeRegistryUtil.getDataFetcher(container.getCodeRegistryBuilder(), outputType.getName(), (GraphQLFieldDefinition) field);
                 container.getCodeRegistryBuilder().dataFetcher(coordinates(newParentType, field.getName()), dataFetcher);
             });
 
@@ -178,6 +185,8 @@ public class GraphQLFieldRetriever {
 
     private GraphQLFieldDefinition buildRelayMutation(Method method, ProcessingElementsContainer container, GraphQLFieldDefinition.Builder builder, GraphQLOutputType outputType, List<GraphQLArgument> args) {
         GraphQLFieldDefinition relayFieldDefinition;
+        // the payload of the mutation is made of the fields of the output type
+        outputType = (GraphQLOutputType) container.getDeferredTypes().materialize(outputType);
         if (!(outputType instanceof GraphQLObjectType || outputType instanceof GraphQLInterfaceType)) {
             throw new RuntimeException("outputType should be an object or an interface");
         }
@@ -207,21 +216,37 @@ public class GraphQLFieldRetriever {
         return typeFunction;
     }
 
-    private GraphQLOutputType getGraphQLConnection(AccessibleObject field, graphql.schema.GraphQLType type, Relay relay, Map<String, graphql.schema.GraphQLType> typeRegistry) {
+    private GraphQLOutputType getGraphQLConnection(AccessibleObject field, graphql.schema.GraphQLType type, Relay relay, ProcessingElementsContainer container) {
         if (type instanceof GraphQLNonNull) {
             GraphQLList listType = (GraphQLList) ((GraphQLNonNull) type).getWrappedType();
-            return new GraphQLNonNull(internalGetGraphQLConnection(field, listType, relay, typeRegistry));
+            return new GraphQLNonNull(internalGetGraphQLConnection(field, listType, relay, container));
         } else {
-            return internalGetGraphQLConnection(field, (GraphQLList) type, relay, typeRegistry);
+            return internalGetGraphQLConnection(field, (GraphQLList) type, relay, container);
         }
     }
 
-    private GraphQLOutputType internalGetGraphQLConnection(AccessibleObject field, GraphQLList listType, Relay relay, Map<String, graphql.schema.GraphQLType> typeRegistry) {
+    private GraphQLOutputType internalGetGraphQLConnection(AccessibleObject field, GraphQLList listType, Relay relay, ProcessingElementsContainer container) {
+        Map<String, graphql.schema.GraphQLType> typeRegistry = container.getTypeRegistry();
         GraphQLOutputType wrappedType = (GraphQLOutputType) listType.getWrappedType();
         String connectionName = field.getAnnotation(GraphQLConnection.class).name();
         connectionName = connectionName.isEmpty() ? wrappedType.getName() : connectionName;
         GraphQLObjectType edgeType = getActualType(relay.edgeType(connectionName, wrappedType, null, Collections.emptyList()), typeRegistry);
-        return getActualType(relay.connectionType(connectionName, edgeType, Collections.emptyList()), typeRegistry);
+        GraphQLObjectType connectionType = getActualType(relay.connectionType(connectionName, edgeType, Collections.emptyList()), typeRegistry);
+
+        TypeDependencyGraph typeDependencies = container.getTypeDependencies();
+        graphql.schema.GraphQLType nodeType = wrappedType;
+        while (nodeType instanceof GraphQLModifiedType) {
+            nodeType = ((GraphQLModifiedType) nodeType).getWrappedType();
+        }
+        typeDependencies.addDependency(edgeType.getName(), nodeType.getName());
+        typeDependencies.addDependency(connectionType.getName(), edgeType.getName());
+        if (!container.getProcessing().isEmpty()) {
+            typeDependencies.addDependency(container.getProcessing().peek(), connectionType.getName());
+        }
+        if (container.getDeferredTypes().isDeferred(wrappedType)) {
+            container.getDeferredTypes().deferWrapper(connectionType.getName());
+        }
+        return connectionType;
     }
 
     private GraphQLObjectType getActualType(GraphQLObjectType type, Map<String, graphql.schema.GraphQLType> typeRegistry) {
@@ -17,14 +17,12 @@ package graphql.annotations.processor.retrievers;
 
 import graphql.annotations.annotationTypes.GraphQLField;
 import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.util.ClassMetadata;
 import org.osgi.service.component.annotations.Component;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static graphql.annotations.processor.util.NamingKit.toGraphqlName;
 
@@ -37,9 +35,7 @@ public class GraphQLObjectInfoRetriever {
     }
 
     public List<Method> getOrderedMethods(Class c) {
-        return Arrays.stream(c.getMethods())
-                .sorted(Comparator.comparing(Method::getName))
-                .collect(Collectors.toList());
+        return ClassMetadata.of(c).getOrderedMethods();
     }
 
     public Boolean isGraphQLField(AnnotatedElement element) {
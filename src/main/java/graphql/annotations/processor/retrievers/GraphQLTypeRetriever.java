@@ -18,7 +18,9 @@ import graphql.annotations.annotationTypes.GraphQLTypeResolver;
 import graphql.annotations.annotationTypes.GraphQLUnion;
 import graphql.annotations.directives.DirectiveWirer;
 import graphql.annotations.directives.DirectiveWiringMapRetriever;
+import graphql.annotations.processor.DeferredTypes;
 import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.TypeDependencyGraph;
 import graphql.annotations.processor.exceptions.CannotCastMemberException;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.searchAlgorithms.SearchAlgorithm;
@@ -63,6 +65,11 @@ public class GraphQLTypeRetriever {
             typeName = container.getInputPrefix() + typeName + container.getInputSuffix();
         }
 
+        TypeDependencyGraph typeDependencies = container.getTypeDependencies();
+        if (!container.getProcessing().isEmpty()) {
+            typeDependencies.addDependency(container.getProcessing().peek(), typeName);
+        }
+
         if (container.getProcessing().contains(typeName)) {
             return new GraphQLTypeReference(typeName);
         }
@@ -70,7 +77,30 @@ public class GraphQLTypeRetriever {
         type = container.getTypeRegistry().get(typeName);
         if (type != null) return type;
 
+        DeferredTypes deferredTypes = container.getDeferredTypes();
+        if (deferredTypes.isDeferred(typeName) || (!isInput && isObjectClass(object)
+                && deferredTypes.shouldDefer(object))) {
+            String deferredTypeName = typeName;
+            deferredTypes.defer(typeName, () -> {
+                GraphQLType deferredType = container.getTypeRegistry().get(deferredTypeName);
+                return deferredType != null ? deferredType : buildGraphQLType(object, container, deferredTypeName, false);
+            });
+            return new GraphQLTypeReference(typeName);
+        }
+
+        return buildGraphQLType(object, container, typeName, isInput);
+    }
+
+    private static boolean isObjectClass(Class<?> object) {
+        return !object.isInterface() && !Enum.class.isAssignableFrom(object) && !object.isAnnotationPresent(GraphQLUnion.class)
+                && !object.isAnnotationPresent(GraphQLTypeResolver.class);
+    }
+
+    private GraphQLType buildGraphQLType(Class<?> object, ProcessingElementsContainer container, String typeName, boolean isInput) {
+        TypeDependencyGraph typeDependencies = container.getTypeDependencies();
+        GraphQLType type;
         container.getProcessing().push(typeName);
+        typeDependencies.addSource(typeName, object);
         if (object.getAnnotation(GraphQLUnion.class) != null) {
             type = new UnionBuilder(graphQLObjectInfoRetriever).getUnionBuilder(object, container).build();
         } else if (object.isAnnotationPresent(GraphQLTypeResolver.class)) {
@@ -95,6 +125,10 @@ public class GraphQLTypeRetriever {
                 container.getCodeRegistryBuilder(), null);
 
         container.getTypeRegistry().put(type.getName(), type);
+        typeDependencies.addSource(type.getName(), object);
+        if (type instanceof GraphQLObjectType) {
+            container.getClassTypeResolver().register(object, (GraphQLObjectType) type);
+        }
         container.getProcessing().pop();
 
         return type;
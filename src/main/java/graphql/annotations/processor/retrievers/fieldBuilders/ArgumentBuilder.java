@@ -14,6 +14,7 @@
  */
 package graphql.annotations.processor.retrievers.fieldBuilders;
 
+import graphql.annotations.annotationTypes.GraphQLDataLoader;
 import graphql.annotations.annotationTypes.GraphQLDefaultValue;
 import graphql.annotations.annotationTypes.GraphQLDescription;
 import graphql.annotations.annotationTypes.GraphQLName;
@@ -53,6 +54,7 @@ public class ArgumentBuilder implements Builder<List<GraphQLArgument>> {
     public List<GraphQLArgument> build() {
         TypeFunction finalTypeFunction = typeFunction;
         List<GraphQLArgument> args = Arrays.stream(method.getParameters()).
+                skip(method.isAnnotationPresent(GraphQLDataLoader.class) ? 1 : 0).
                 filter(p -> !DataFetchingEnvironment.class.isAssignableFrom(p.getType())).
                 map(parameter -> {
                     Class<?> t = parameter.getType();
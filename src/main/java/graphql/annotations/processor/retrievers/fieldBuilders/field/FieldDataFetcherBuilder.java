@@ -65,7 +65,7 @@ public class FieldDataFetcherBuilder implements Builder<DataFetcher> {
         }
 
         if (isConnection) {
-            actualDataFetcher = getConnectionDataFetcher(field.getAnnotation(GraphQLConnection.class), actualDataFetcher);
+            actualDataFetcher = getConnectionDataFetcher(field.getAnnotation(GraphQLConnection.class), actualDataFetcher, container);
         }
         return actualDataFetcher;
     }
@@ -108,7 +108,7 @@ public class FieldDataFetcherBuilder implements Builder<DataFetcher> {
 
     private DataFetcher wrapExtension(DataFetcher dataFetcher, Field field) {
         if (field.getDeclaringClass().isAnnotationPresent(GraphQLTypeExtension.class)) {
-            return new ExtensionDataFetcherWrapper(field.getDeclaringClass(), dataFetcher);
+            return new ExtensionDataFetcherWrapper(field.getDeclaringClass(), dataFetcher, container);
         }
         return dataFetcher;
     }
@@ -14,12 +14,14 @@
  */
 package graphql.annotations.processor.retrievers.fieldBuilders.method;
 
-import graphql.annotations.annotationTypes.GraphQLBatched;
 import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLDataLoader;
 import graphql.annotations.annotationTypes.GraphQLRelayMutation;
 import graphql.annotations.connection.GraphQLConnection;
 import graphql.annotations.dataFetchers.BatchedMethodDataFetcher;
+import graphql.annotations.dataFetchers.DataLoaderMethodDataFetcher;
 import graphql.annotations.dataFetchers.MethodDataFetcher;
+import graphql.annotations.dataFetchers.RelayMutationBatchDataFetcher;
 import graphql.annotations.dataFetchers.RelayMutationMethodDataFetcher;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.retrievers.fieldBuilders.Builder;
@@ -41,29 +43,42 @@ public class MethodDataFetcherBuilder implements Builder<DataFetcher> {
     private TypeFunction typeFunction;
     private ProcessingElementsContainer container;
     private GraphQLFieldDefinition relayFieldDefinition;
-    private List<GraphQLArgument> args;
     private DataFetcherConstructor dataFetcherConstructor;
     private boolean isConnection;
 
     public MethodDataFetcherBuilder(Method method, GraphQLOutputType outputType, TypeFunction typeFunction,
                                     ProcessingElementsContainer container, GraphQLFieldDefinition relayFieldDefinition,
-                                    List<GraphQLArgument> args, DataFetcherConstructor dataFetcherConstructor, boolean isConnection) {
+                                    DataFetcherConstructor dataFetcherConstructor, boolean isConnection) {
         this.method = method;
         this.outputType = outputType;
         this.typeFunction = typeFunction;
         this.container = container;
         this.relayFieldDefinition = relayFieldDefinition;
-        this.args = args;
         this.dataFetcherConstructor = dataFetcherConstructor;
         this.isConnection = isConnection;
     }
 
+    /**
+     * @deprecated the arguments aren't used, use
+     * {@link #MethodDataFetcherBuilder(Method, GraphQLOutputType, TypeFunction, ProcessingElementsContainer, GraphQLFieldDefinition, DataFetcherConstructor, boolean)}
+     * instead
+     */
+    @Deprecated
+    public MethodDataFetcherBuilder(Method method, GraphQLOutputType outputType, TypeFunction typeFunction,
+                                    ProcessingElementsContainer container, GraphQLFieldDefinition relayFieldDefinition,
+                                    List<GraphQLArgument> args, DataFetcherConstructor dataFetcherConstructor, boolean isConnection) {
+        this(method, outputType, typeFunction, container, relayFieldDefinition, dataFetcherConstructor, isConnection);
+    }
+
     @Override
+    @SuppressWarnings("deprecation")
     public DataFetcher build() {
         GraphQLDataFetcher dataFetcher = method.getAnnotation(GraphQLDataFetcher.class);
         DataFetcher actualDataFetcher;
-        if (dataFetcher == null && method.getAnnotation(GraphQLBatched.class) != null) {
+        if (dataFetcher == null && method.getAnnotation(graphql.annotations.annotationTypes.GraphQLBatched.class) != null) {
             actualDataFetcher = new BatchedMethodDataFetcher(method, typeFunction, container);
+        } else if (dataFetcher == null && method.getAnnotation(GraphQLDataLoader.class) != null) {
+            actualDataFetcher = new DataLoaderMethodDataFetcher<>(method, container);
         } else if (dataFetcher == null) {
             actualDataFetcher = new MethodDataFetcher(method, typeFunction, container);
         } else {
@@ -71,11 +86,16 @@ public class MethodDataFetcherBuilder implements Builder<DataFetcher> {
         }
 
         if (method.isAnnotationPresent(GraphQLRelayMutation.class) && relayFieldDefinition != null) {
-            actualDataFetcher = new RelayMutationMethodDataFetcher(method, args, relayFieldDefinition.getArgument("input").getType(), relayFieldDefinition.getType());
+            String batch = method.getAnnotation(GraphQLRelayMutation.class).batch();
+            if (batch.isEmpty()) {
+                actualDataFetcher = new RelayMutationMethodDataFetcher(method, typeFunction, container);
+            } else {
+                actualDataFetcher = new RelayMutationBatchDataFetcher(method, batch, relayFieldDefinition.getArgument("input").getType(), container);
+            }
         }
 
         if (isConnection){
-            actualDataFetcher = getConnectionDataFetcher(method.getAnnotation(GraphQLConnection.class), actualDataFetcher);
+            actualDataFetcher = getConnectionDataFetcher(method.getAnnotation(GraphQLConnection.class), actualDataFetcher, container);
         }
         return actualDataFetcher;
     }
@@ -14,10 +14,11 @@
  */
 package graphql.annotations.processor.retrievers.fieldBuilders.method;
 
-import graphql.annotations.annotationTypes.GraphQLBatched;
+import graphql.annotations.annotationTypes.GraphQLDataLoader;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.retrievers.fieldBuilders.Builder;
 import graphql.annotations.processor.typeFunctions.BatchedTypeFunction;
+import graphql.annotations.processor.typeFunctions.DataLoaderTypeFunction;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLType;
@@ -39,12 +40,15 @@ public class MethodTypeBuilder implements Builder<GraphQLType> {
     }
 
     @Override
+    @SuppressWarnings("deprecation")
     public GraphQLType build() {
         AnnotatedType annotatedReturnType = method.getAnnotatedReturnType();
 
         TypeFunction typeFunction;
-        if (method.getAnnotation(GraphQLBatched.class) != null) {
+        if (method.getAnnotation(graphql.annotations.annotationTypes.GraphQLBatched.class) != null) {
             typeFunction = new BatchedTypeFunction(this.typeFunction);
+        } else if (method.getAnnotation(GraphQLDataLoader.class) != null) {
+            typeFunction = new DataLoaderTypeFunction(this.typeFunction);
         } else {
             typeFunction = this.typeFunction;
         }
@@ -16,6 +16,7 @@ package graphql.annotations.processor.searchAlgorithms;
 
 import graphql.annotations.processor.exceptions.CannotCastMemberException;
 import graphql.annotations.processor.retrievers.GraphQLObjectInfoRetriever;
+import graphql.annotations.processor.util.ClassMetadata;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -23,8 +24,6 @@ import org.osgi.service.component.annotations.ReferencePolicyOption;
 
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.LinkedList;
-import java.util.List;
 
 
 @Component(service = SearchAlgorithm.class, property = "type=method", immediate = true)
@@ -42,38 +41,12 @@ public class BreadthFirstSearch implements SearchAlgorithm {
     @Override
     public boolean isFound(Member member) throws CannotCastMemberException {
         Method method=CastToMethod(member);
-        final List<Class<?>> queue = new LinkedList<>();
-        final String methodName = method.getName();
-        final Class<?>[] parameterTypes = method.getParameterTypes();
-        queue.add(method.getDeclaringClass());
-        do {
-            Class<?> cls = queue.remove(0);
-
-            try {
-                method = cls.getDeclaredMethod(methodName, parameterTypes);
-                Boolean gqf = graphQLObjectInfoRetriever.isGraphQLField(method);
-                if (gqf != null) {
-                    return gqf;
-                }
-            } catch (NoSuchMethodException e) {
-            }
-
-            Boolean gqf = graphQLObjectInfoRetriever.isGraphQLField(cls);
-            if (gqf != null) {
-                return gqf;
-            }
-
-            // add interfaces to places to isFound
-            for (Class<?> iface : cls.getInterfaces()) {
-                queue.add(iface);
-            }
-            // add parent class to places to isFound
-            Class<?> nxt = cls.getSuperclass();
-            if (nxt != null) {
-                queue.add(nxt);
-            }
-        } while (!queue.isEmpty());
-        return false;
+        ClassMetadata metadata = ClassMetadata.of(method.getDeclaringClass());
+        if (graphQLObjectInfoRetriever.getClass() == GraphQLObjectInfoRetriever.class) {
+            // the verdict only depends on the annotations, it is computed once for all the classes inheriting the method
+            return metadata.isGraphQLField(method);
+        }
+        return metadata.search(method, graphQLObjectInfoRetriever::isGraphQLField);
     }
 
     private Method CastToMethod(Member member) throws CannotCastMemberException {
@@ -16,6 +16,7 @@ package graphql.annotations.processor.searchAlgorithms;
 
 import graphql.annotations.processor.exceptions.CannotCastMemberException;
 import graphql.annotations.processor.retrievers.GraphQLObjectInfoRetriever;
+import graphql.annotations.processor.util.ClassMetadata;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -39,20 +40,11 @@ public class ParentalSearch implements SearchAlgorithm {
     @Override
     public boolean isFound(Member member) throws CannotCastMemberException {
         Field field=CastToField(member);
-        Boolean gqf = graphQLObjectInfoRetriever.isGraphQLField(field);
-        if (gqf != null) {
-            return gqf;
+        ClassMetadata metadata = ClassMetadata.of(field.getDeclaringClass());
+        if (graphQLObjectInfoRetriever.getClass() == GraphQLObjectInfoRetriever.class) {
+            return metadata.isGraphQLField(field);
         }
-        Class<?> cls = field.getDeclaringClass();
-
-        do {
-            gqf = graphQLObjectInfoRetriever.isGraphQLField(cls);
-            if (gqf != null) {
-                return gqf;
-            }
-            cls = cls.getSuperclass();
-        } while (cls != null);
-        return false;
+        return metadata.search(field, graphQLObjectInfoRetriever::isGraphQLField);
     }
 
     private Field CastToField(Member member) throws CannotCastMemberException {
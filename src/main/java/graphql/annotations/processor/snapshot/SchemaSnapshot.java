@@ -0,0 +1,493 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.snapshot;
+
+import graphql.annotations.dataFetchers.MethodDataFetcher;
+import graphql.annotations.dataFetchers.arguments.ArgumentBinder;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.annotations.typeResolvers.ClassTypeResolver;
+import graphql.annotations.typeResolvers.UnionTypeResolver;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLUnionType;
+import graphql.schema.PropertyDataFetcher;
+import graphql.schema.TypeResolver;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.SchemaPrinter;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.TypeRuntimeWiring;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static graphql.annotations.processor.util.ReflectionKit.newInstance;
+import static graphql.schema.FieldCoordinates.coordinates;
+
+/**
+ * A snapshot of a schema built from annotated classes: the schema in SDL, and the bindings of its data fetchers, type
+ * resolvers and enum values to the java classes, methods and constants behind them. Restoring a snapshot rebinds the
+ * data fetchers by method signature, instead of rediscovering the schema from the annotations.
+ * <p>
+ * The types are parsed from the SDL, so restoring doesn't build any type from the classes. The arguments of a method
+ * are bound by the names kept in the snapshot and converted according to the argument types of the parsed schema.
+ * Restoring still loads the classes, looks up the methods, and binds them to method handles.
+ * <p>
+ * A snapshot is keyed by a hash of the bytecode of the classes that took part in the schema. The key is computed from
+ * the class files, without loading the classes, so a stale snapshot is detected cheaply.
+ * <p>
+ * Only schemas whose fields are fetched by {@link MethodDataFetcher}s or {@link PropertyDataFetcher}s, whose scalars
+ * are standard scalars, and whose type resolvers can be recreated, can be captured.
+ */
+public class SchemaSnapshot {
+    private static final int MAGIC = 0x47514153;
+    private static final int FORMAT_VERSION = 2;
+    private static final List<String> STANDARD_DIRECTIVES = Arrays.asList("include", "skip", "defer", "deprecated");
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> primitive : Arrays.asList(boolean.class, byte.class, char.class, short.class, int.class, long.class,
+                float.class, double.class, void.class)) {
+            PRIMITIVES.put(primitive.getName(), primitive);
+        }
+    }
+
+    private final String key;
+    private final List<String> classNames;
+    private final String sdl;
+    // object type name -> class name
+    private final Map<String, String> objectClasses;
+    // interface or union type name -> type resolver class name
+    private final Map<String, String> typeResolvers;
+    // enum type name -> enum class name, followed by value name -> constant name pairs
+    private final Map<String, List<String>> enums;
+    private final List<FieldBinding> fieldBindings;
+
+    private SchemaSnapshot(String key, List<String> classNames, String sdl, Map<String, String> objectClasses,
+                           Map<String, String> typeResolvers, Map<String, List<String>> enums, List<FieldBinding> fieldBindings) {
+        this.key = key;
+        this.classNames = classNames;
+        this.sdl = sdl;
+        this.objectClasses = objectClasses;
+        this.typeResolvers = typeResolvers;
+        this.enums = enums;
+        this.fieldBindings = fieldBindings;
+    }
+
+    /**
+     * Computes the key of a snapshot
+     *
+     * @param configuration the configuration of the schema, other than its classes
+     * @param classNames    the names of the classes which took part in the schema
+     * @param classLoader   the class loader of the classes
+     * @return the key, or null if the class file of one of the classes can't be read
+     */
+    public static String computeKey(String configuration, Collection<String> classNames, ClassLoader classLoader) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((FORMAT_VERSION + "\n" + configuration + "\n").getBytes(StandardCharsets.UTF_8));
+            byte[] buffer = new byte[8192];
+            for (String className : new TreeSet<>(classNames)) {
+                digest.update((className + "\n").getBytes(StandardCharsets.UTF_8));
+                try (InputStream classFile = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+                    if (classFile == null) {
+                        return null;
+                    }
+                    for (int read = classFile.read(buffer); read != -1; read = classFile.read(buffer)) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Captures a snapshot of a schema
+     *
+     * @param key        the key of the snapshot
+     * @param classNames the names of the classes which took part in the schema
+     * @param schema     the schema
+     * @param container  the container the schema was built with
+     * @return the snapshot, or an empty optional if the schema can't be restored from a snapshot
+     */
+    public static Optional<SchemaSnapshot> capture(String key, Collection<String> classNames, GraphQLSchema schema,
+                                                   ProcessingElementsContainer container) {
+        for (GraphQLDirective directive : schema.getDirectives()) {
+            if (!STANDARD_DIRECTIVES.contains(directive.getName())) {
+                return Optional.empty();
+            }
+        }
+        Map<String, String> objectClasses = new TreeMap<>();
+        container.getClassTypeResolver().getTypes().forEach((aClass, type) -> objectClasses.put(type.getName(), aClass.getName()));
+
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry();
+        Map<String, String> typeResolvers = new TreeMap<>();
+        Map<String, List<String>> enums = new TreeMap<>();
+        List<FieldBinding> fieldBindings = new ArrayList<>();
+        for (graphql.schema.GraphQLType type : schema.getAllTypesAsList()) {
+            if (type.getName().startsWith("__")) {
+                continue;
+            }
+            if (type instanceof GraphQLObjectType) {
+                for (GraphQLFieldDefinition field : ((GraphQLObjectType) type).getFieldDefinitions()) {
+                    FieldBinding binding = FieldBinding.of(type.getName(), field.getName(),
+                            codeRegistry.getDataFetcher((GraphQLObjectType) type, field));
+                    if (binding == null) {
+                        return Optional.empty();
+                    }
+                    fieldBindings.add(binding);
+                }
+            } else if (type instanceof GraphQLInterfaceType || type instanceof GraphQLUnionType) {
+                TypeResolver typeResolver = type instanceof GraphQLInterfaceType ?
+                        codeRegistry.getTypeResolver((GraphQLInterfaceType) type) : codeRegistry.getTypeResolver((GraphQLUnionType) type);
+                if (!isRestorable(typeResolver)) {
+                    return Optional.empty();
+                }
+                typeResolvers.put(type.getName(), typeResolver.getClass().getName());
+            } else if (type instanceof GraphQLEnumType) {
+                List<String> values = enumValues((GraphQLEnumType) type);
+                if (values == null) {
+                    return Optional.empty();
+                }
+                enums.put(type.getName(), values);
+            } else if (type instanceof GraphQLScalarType && !ScalarInfo.isStandardScalar((GraphQLScalarType) type)) {
+                return Optional.empty();
+            }
+        }
+        SchemaPrinter printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeSchemaDefintion(true));
+        return Optional.of(new SchemaSnapshot(key, new ArrayList<>(new TreeSet<>(classNames)), printer.print(schema),
+                objectClasses, typeResolvers, enums, fieldBindings));
+    }
+
+    private static boolean isRestorable(TypeResolver typeResolver) {
+        if (typeResolver instanceof ClassTypeResolver || typeResolver instanceof UnionTypeResolver) {
+            return true;
+        }
+        return Arrays.stream(typeResolver.getClass().getConstructors()).anyMatch(constructor -> constructor.getParameterCount() == 0);
+    }
+
+    private static List<String> enumValues(GraphQLEnumType type) {
+        List<String> values = new ArrayList<>();
+        for (GraphQLEnumValueDefinition value : type.getValues()) {
+            if (!(value.getValue() instanceof Enum)) {
+                return null;
+            }
+            Enum<?> constant = (Enum<?>) value.getValue();
+            if (values.isEmpty()) {
+                values.add(constant.getDeclaringClass().getName());
+            }
+            values.add(value.getName());
+            values.add(constant.name());
+        }
+        return values;
+    }
+
+    /**
+     * Restores the schema of the snapshot
+     *
+     * @param classLoader the class loader of the classes of the schema
+     * @param container   the container to restore the schema with
+     * @return the schema
+     */
+    public GraphQLSchema restore(ClassLoader classLoader, ProcessingElementsContainer container) {
+        TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
+        Map<String, TypeRuntimeWiring.Builder> typeWirings = new LinkedHashMap<>();
+        for (FieldBinding binding : fieldBindings) {
+            if (binding.isProperty()) {
+                typeWirings.computeIfAbsent(binding.typeName, TypeRuntimeWiring::newTypeWiring)
+                        .dataFetcher(binding.fieldName, new PropertyDataFetcher<>(binding.target.get(0)));
+            }
+        }
+        typeResolvers.forEach((typeName, resolverClassName) -> typeWirings.computeIfAbsent(typeName, TypeRuntimeWiring::newTypeWiring)
+                .typeResolver(restoreTypeResolver(typeName, resolverClassName, registry, classLoader, container)));
+        enums.forEach((typeName, values) -> {
+            Map<String, Object> constantsByName = enumConstants(loadClass(values.get(0), classLoader));
+            Map<String, Object> constants = new HashMap<>();
+            for (int i = 1; i < values.size(); i += 2) {
+                constants.put(values.get(i), constantsByName.get(values.get(i + 1)));
+            }
+            typeWirings.computeIfAbsent(typeName, TypeRuntimeWiring::newTypeWiring).enumValues(constants::get);
+        });
+
+        RuntimeWiring.Builder wiring = RuntimeWiring.newRuntimeWiring();
+        typeWirings.values().forEach(wiring::type);
+        GraphQLSchema parsedSchema = new SchemaGenerator().makeExecutableSchema(registry, wiring.build());
+
+        // the method bindings need the argument types of the parsed schema
+        GraphQLCodeRegistry.Builder codeRegistry = GraphQLCodeRegistry.newCodeRegistry(parsedSchema.getCodeRegistry());
+        for (FieldBinding binding : fieldBindings) {
+            if (!binding.isProperty()) {
+                GraphQLFieldDefinition field = parsedSchema.getObjectType(binding.typeName).getFieldDefinition(binding.fieldName);
+                codeRegistry.dataFetcher(coordinates(binding.typeName, binding.fieldName), binding.restore(field, classLoader, container));
+            }
+        }
+        GraphQLSchema schema = parsedSchema.transform(builder -> builder.codeRegistry(codeRegistry.build()));
+
+        ClassTypeResolver classTypeResolver = container.getClassTypeResolver();
+        objectClasses.forEach((typeName, className) -> {
+            GraphQLObjectType type = schema.getObjectType(typeName);
+            if (type != null) {
+                classTypeResolver.register(loadClass(className, classLoader), type);
+            }
+        });
+        return schema;
+    }
+
+    private TypeResolver restoreTypeResolver(String typeName, String resolverClassName, TypeDefinitionRegistry registry,
+                                             ClassLoader classLoader, ProcessingElementsContainer container) {
+        if (resolverClassName.equals(ClassTypeResolver.class.getName())) {
+            return container.getClassTypeResolver();
+        }
+        if (resolverClassName.equals(UnionTypeResolver.class.getName())) {
+            UnionTypeDefinition union = (UnionTypeDefinition) registry.getType(typeName).get();
+            Map<Class<?>, graphql.schema.GraphQLType> types = new LinkedHashMap<>();
+            union.getMemberTypes().forEach(member -> {
+                String memberName = ((TypeName) member).getName();
+                types.put(loadClass(objectClasses.get(memberName), classLoader), new GraphQLTypeReference(memberName));
+            });
+            return new UnionTypeResolver(types);
+        }
+        return (TypeResolver) newInstance(loadClass(resolverClassName, classLoader));
+    }
+
+    private static Map<String, Object> enumConstants(Class<?> enumClass) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : enumClass.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+        return constants;
+    }
+
+    private static Class<?> loadClass(String name, ClassLoader classLoader) {
+        Class<?> primitive = PRIMITIVES.get(name);
+        if (primitive != null) {
+            return primitive;
+        }
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new GraphQLAnnotationsException("Unable to restore the schema snapshot, class " + name + " is missing", e);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public List<String> getClassNames() {
+        return classNames;
+    }
+
+    public String getSdl() {
+        return sdl;
+    }
+
+    /**
+     * Writes the snapshot
+     *
+     * @param out the stream to write the snapshot to
+     * @throws IOException if the snapshot can't be written
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(key);
+        writeStrings(out, classNames);
+        byte[] sdlBytes = sdl.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(sdlBytes.length);
+        out.write(sdlBytes);
+        writeMap(out, objectClasses);
+        writeMap(out, typeResolvers);
+        out.writeInt(enums.size());
+        for (Map.Entry<String, List<String>> entry : enums.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeStrings(out, entry.getValue());
+        }
+        out.writeInt(fieldBindings.size());
+        for (FieldBinding binding : fieldBindings) {
+            out.writeUTF(binding.typeName);
+            out.writeUTF(binding.fieldName);
+            writeStrings(out, binding.target);
+            writeStrings(out, binding.arguments);
+        }
+    }
+
+    /**
+     * Reads a snapshot
+     *
+     * @param in the stream to read the snapshot from
+     * @return the snapshot, or an empty optional if the stream doesn't hold a snapshot of the current format
+     * @throws IOException if the snapshot can't be read
+     */
+    public static Optional<SchemaSnapshot> read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        String key = in.readUTF();
+        List<String> classNames = readStrings(in);
+        byte[] sdlBytes = new byte[in.readInt()];
+        in.readFully(sdlBytes);
+        Map<String, String> objectClasses = readMap(in);
+        Map<String, String> typeResolvers = readMap(in);
+        Map<String, List<String>> enums = new TreeMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            enums.put(in.readUTF(), readStrings(in));
+        }
+        List<FieldBinding> fieldBindings = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            fieldBindings.add(new FieldBinding(in.readUTF(), in.readUTF(), readStrings(in), readStrings(in)));
+        }
+        return Optional.of(new SchemaSnapshot(key, classNames, new String(sdlBytes, StandardCharsets.UTF_8),
+                objectClasses, typeResolvers, enums, fieldBindings));
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        List<String> strings = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        Map<String, String> map = new TreeMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+
+    /**
+     * The binding of a field to its data fetcher: a property name, or a declaring class, a method name and the
+     * parameter types of the method, with the argument names bound to the parameters (empty for the environment)
+     */
+    private static class FieldBinding {
+        private final String typeName;
+        private final String fieldName;
+        private final List<String> target;
+        private final List<String> arguments;
+
+        private FieldBinding(String typeName, String fieldName, List<String> target, List<String> arguments) {
+            this.typeName = typeName;
+            this.fieldName = fieldName;
+            this.target = target;
+            this.arguments = arguments;
+        }
+
+        private boolean isProperty() {
+            return target.size() == 1;
+        }
+
+        private static FieldBinding of(String typeName, String fieldName, DataFetcher<?> dataFetcher) {
+            List<String> target = new ArrayList<>();
+            List<String> arguments = new ArrayList<>();
+            if (dataFetcher != null && dataFetcher.getClass() == PropertyDataFetcher.class
+                    && ((PropertyDataFetcher<?>) dataFetcher).getPropertyName() != null) {
+                target.add(((PropertyDataFetcher<?>) dataFetcher).getPropertyName());
+            } else if (dataFetcher != null && dataFetcher.getClass() == MethodDataFetcher.class) {
+                Method method = ((MethodDataFetcher<?>) dataFetcher).getMethod();
+                target.add(method.getDeclaringClass().getName());
+                target.add(method.getName());
+                for (Class<?> parameterType : method.getParameterTypes()) {
+                    target.add(parameterType.getName());
+                }
+                for (String name : ((MethodDataFetcher<?>) dataFetcher).getArgumentBinder().getNames()) {
+                    arguments.add(name == null ? "" : name);
+                }
+            } else {
+                return null;
+            }
+            return new FieldBinding(typeName, fieldName, target, arguments);
+        }
+
+        private DataFetcher<?> restore(GraphQLFieldDefinition field, ClassLoader classLoader, ProcessingElementsContainer container) {
+            Class<?> declaringClass = loadClass(target.get(0), classLoader);
+            Class<?>[] parameterTypes = target.subList(2, target.size()).stream()
+                    .map(name -> loadClass(name, classLoader)).toArray(Class<?>[]::new);
+            Method method;
+            try {
+                method = declaringClass.getDeclaredMethod(target.get(1), parameterTypes);
+            } catch (NoSuchMethodException e) {
+                throw new GraphQLAnnotationsException("Unable to restore the schema snapshot, method " + target.get(1) + " is missing", e);
+            }
+            String[] names = new String[arguments.size()];
+            graphql.schema.GraphQLType[] types = new graphql.schema.GraphQLType[arguments.size()];
+            for (int i = 0; i < names.length; i++) {
+                if (!arguments.get(i).isEmpty()) {
+                    GraphQLArgument argument = field.getArgument(arguments.get(i));
+                    if (argument == null) {
+                        throw new GraphQLAnnotationsException("Unable to restore the schema snapshot, argument " + arguments.get(i) + " is missing", null);
+                    }
+                    names[i] = arguments.get(i);
+                    types[i] = argument.getType();
+                }
+            }
+            return new MethodDataFetcher<>(new ArgumentBinder(method, names, types, container), method, container);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 package graphql.annotations.processor.typeBuilders;
 
 import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.dataFetchers.arguments.InputObjectConverter;
 import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.retrievers.GraphQLFieldRetriever;
@@ -63,6 +64,7 @@ public class InputObjectBuilder {
         }
 
         List<String> definedFields = new ArrayList<>();
+        List<GraphQLInputObjectField> fields = new ArrayList<>();
 
         for (Method method : graphQLObjectInfoRetriever.getOrderedMethods(object)) {
             if (method.isBridge() || method.isSynthetic()) {
@@ -71,6 +73,7 @@ public class InputObjectBuilder {
             if (methodSearchAlgorithm.isFound(method)) {
                 GraphQLInputObjectField gqlField = graphQLFieldRetriever.getInputField(method, container, name);
                 definedFields.add(gqlField.getName());
+                fields.add(gqlField);
                 builder.field(gqlField);
             }
         }
@@ -82,9 +85,12 @@ public class InputObjectBuilder {
             if (fieldSearchAlgorithm.isFound(field)) {
                 GraphQLInputObjectField gqlField = graphQLFieldRetriever.getInputField(field, container, name);
                 definedFields.add(gqlField.getName());
+                fields.add(gqlField);
                 builder.field(gqlField);
             }
         }
+
+        container.getInputConverters().put(object, new InputObjectConverter(object, fields, container));
         return builder;
     }
 
@@ -23,6 +23,7 @@ import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.processor.retrievers.GraphQLExtensionsHandler;
 import graphql.annotations.processor.retrievers.GraphQLFieldRetriever;
 import graphql.annotations.processor.retrievers.GraphQLObjectInfoRetriever;
+import graphql.annotations.typeResolvers.ClassTypeResolver;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLInterfaceType;
 
@@ -79,6 +80,9 @@ public class InterfaceBuilder {
                     method.getAnnotation(GraphQLField.class) != null;
             if (valid) {
                 GraphQLFieldDefinition gqlField = graphQLFieldRetriever.getField(typeName, method, container);
+                if (container.getDeferredTypes().isDeferred(gqlField.getType())) {
+                    continue;
+                }
                 definedFields.add(gqlField.getName());
                 builder.field(gqlField);
             }
@@ -86,7 +90,11 @@ public class InterfaceBuilder {
         builder.fields(extensionsHandler.getExtensionFields(iface, definedFields, container));
 
         GraphQLTypeResolver typeResolver = iface.getAnnotation(GraphQLTypeResolver.class);
-        container.getCodeRegistryBuilder().typeResolver(typeName, newInstance(typeResolver.value()));
+        if (typeResolver.value() == ClassTypeResolver.class) {
+            container.getCodeRegistryBuilder().typeResolver(typeName, container.getClassTypeResolver());
+        } else {
+            container.getCodeRegistryBuilder().typeResolver(typeName, newInstance(typeResolver.value()));
+        }
         return builder;
     }
 }
@@ -79,6 +79,9 @@ public class OutputObjectBuilder {
             }
             if (methodSearchAlgorithm.isFound(method)) {
                 GraphQLFieldDefinition gqlField = graphQLFieldRetriever.getField(typeName, method, container);
+                if (container.getDeferredTypes().isDeferred(gqlField.getType())) {
+                    continue;
+                }
                 definedFields.add(gqlField.getName());
                 builder.field(gqlField);
             }
@@ -90,6 +93,9 @@ public class OutputObjectBuilder {
             }
             if (fieldSearchAlgorithm.isFound(field)) {
                 GraphQLFieldDefinition gqlField = graphQLFieldRetriever.getField(typeName, field, container);
+                if (container.getDeferredTypes().isDeferred(gqlField.getType())) {
+                    continue;
+                }
                 definedFields.add(gqlField.getName());
                 builder.field(gqlField);
             }
@@ -99,6 +105,7 @@ public class OutputObjectBuilder {
             if (iface.getAnnotation(GraphQLTypeResolver.class) != null) {
                 String ifaceName = graphQLObjectInfoRetriever.getTypeName(iface);
                 if (container.getProcessing().contains(ifaceName)) {
+                    container.getTypeDependencies().addDependency(typeName, ifaceName);
                     builder.withInterface(new GraphQLTypeReference(ifaceName));
                 } else {
                     builder.withInterface((GraphQLInterfaceType) graphQLInterfaceRetriever.getInterface(iface, container));
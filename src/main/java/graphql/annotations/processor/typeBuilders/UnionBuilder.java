@@ -24,6 +24,7 @@ import graphql.annotations.processor.retrievers.GraphQLObjectInfoRetriever;
 import graphql.annotations.processor.typeFunctions.TypeFunction;
 import graphql.annotations.typeResolvers.UnionTypeResolver;
 import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLTypeReference;
 import graphql.schema.GraphQLUnionType.Builder;
 import graphql.schema.TypeResolver;
 
@@ -74,9 +75,14 @@ public class UnionBuilder {
 
         TypeFunction finalTypeFunction = typeFunction;
         Arrays.stream(unionAnnotation.possibleTypes())
-                .map(aClass -> finalTypeFunction.buildType(aClass, null, container))
-                .map(v -> (GraphQLObjectType) v)
-                .forEach(builder::possibleType);
+                .map(aClass -> container.getDeferredTypes().materialize(finalTypeFunction.buildType(aClass, null, container)))
+                .forEach(type -> {
+                    if (type instanceof GraphQLTypeReference) {
+                        builder.possibleType((GraphQLTypeReference) type);
+                    } else {
+                        builder.possibleType((GraphQLObjectType) type);
+                    }
+                });
 
         TypeResolver typeResolver = getTypeResolver(container, unionAnnotation);
         container.getCodeRegistryBuilder().typeResolver(typeName, typeResolver);
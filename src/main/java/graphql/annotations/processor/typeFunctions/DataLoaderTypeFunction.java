@@ -0,0 +1,59 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.typeFunctions;
+
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.GraphQLType;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.ParameterizedType;
+import java.util.concurrent.CompletionStage;
+
+public class DataLoaderTypeFunction implements TypeFunction {
+    private TypeFunction batchedTypeFunction;
+
+    public DataLoaderTypeFunction(TypeFunction defaultTypeFunction) {
+        this.batchedTypeFunction = new BatchedTypeFunction(defaultTypeFunction);
+    }
+
+    @Override
+    public String getTypeName(Class<?> aClass, AnnotatedType annotatedType) {
+        return batchedTypeFunction.getTypeName(aClass, annotatedType);
+    }
+
+    @Override
+    public boolean canBuildType(final Class<?> aClass, final AnnotatedType type) {
+        return batchedTypeFunction.canBuildType(aClass, type);
+    }
+
+    @Override
+    public GraphQLType buildType(boolean input, Class<?> aClass, AnnotatedType annotatedType, ProcessingElementsContainer container) {
+        if (!CompletionStage.class.isAssignableFrom(aClass)) {
+            return batchedTypeFunction.buildType(input, aClass, annotatedType, container);
+        }
+        if (!(annotatedType instanceof AnnotatedParameterizedType)) {
+            throw new IllegalArgumentException("DataLoader method should return parameterized type");
+        }
+        AnnotatedType arg = ((AnnotatedParameterizedType) annotatedType).getAnnotatedActualTypeArguments()[0];
+        Class<?> klass;
+        if (arg.getType() instanceof ParameterizedType) {
+            klass = (Class<?>) ((ParameterizedType) (arg.getType())).getRawType();
+        } else {
+            klass = (Class<?>) arg.getType();
+        }
+        return batchedTypeFunction.buildType(input, klass, arg, container);
+    }
+}
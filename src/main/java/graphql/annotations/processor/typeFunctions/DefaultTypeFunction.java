@@ -21,7 +21,14 @@ import graphql.annotations.processor.graphQLProcessors.GraphQLOutputProcessor;
 import graphql.schema.GraphQLType;
 import org.osgi.service.component.annotations.*;
 
-import java.lang.reflect.AnnotatedType;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 @Component(property = "type=default", immediate = true)
@@ -29,6 +36,13 @@ public class DefaultTypeFunction implements TypeFunction {
 
     private CopyOnWriteArrayList<TypeFunction> typeFunctions;
 
+    /**
+     * Remembers which type function handles a (class, annotated type) pair. It is replaced, never cleared in place,
+     * after every change of {@link #typeFunctions} so that a lookup racing with a change cannot store a stale answer
+     * in the new cache.
+     */
+    private volatile ConcurrentHashMap<DispatchKey, TypeFunction> dispatchCache = new ConcurrentHashMap<>();
+
     private GraphQLInputProcessor graphQLInputProcessor;
     private GraphQLOutputProcessor graphQLOutputProcessor;
 
@@ -66,6 +80,7 @@ public class DefaultTypeFunction implements TypeFunction {
         typeFunctions.add(new StreamFunction(DefaultTypeFunction.this));
         typeFunctions.add(new OptionalFunction(DefaultTypeFunction.this));
         typeFunctions.add(new ObjectFunction(graphQLInputProcessor, graphQLOutputProcessor));
+        invalidateDispatchCache();
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE,
@@ -77,11 +92,14 @@ public class DefaultTypeFunction implements TypeFunction {
     }
 
     void removeFunction(TypeFunction function) {
-        this.typeFunctions.remove(function);
+        if (this.typeFunctions.remove(function)) {
+            invalidateDispatchCache();
+        }
     }
 
     public Class<DefaultTypeFunction> register(TypeFunction function) {
         typeFunctions.add(0, function);
+        invalidateDispatchCache();
         return DefaultTypeFunction.class;
     }
 
@@ -109,14 +127,91 @@ public class DefaultTypeFunction implements TypeFunction {
     }
 
     private TypeFunction getTypeFunction(Class<?> aClass, AnnotatedType annotatedType) {
+        // read the cache before the list: a concurrent change replaces the cache only after updating the list
+        ConcurrentHashMap<DispatchKey, TypeFunction> cache = dispatchCache;
+        DispatchKey key = new DispatchKey(aClass, annotatedType);
+        TypeFunction cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
         for (TypeFunction typeFunction : typeFunctions) {
             if (typeFunction.canBuildType(aClass, annotatedType)) {
+                cache.putIfAbsent(key, typeFunction);
                 return typeFunction;
             }
         }
         return null;
     }
 
+    private void invalidateDispatchCache() {
+        dispatchCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Identifies everything a type function may look at when deciding whether it can build a type: the class, the
+     * generic type and the type annotations at every level of the annotated type (for instance
+     * {@code List<@GraphQLID String>}).
+     */
+    private static final class DispatchKey {
+        private final Class<?> aClass;
+        private final Type type;
+        private final List<Object> annotations;
+        private final int hashCode;
+
+        DispatchKey(Class<?> aClass, AnnotatedType annotatedType) {
+            this.aClass = aClass;
+            this.type = annotatedType == null ? null : annotatedType.getType();
+            this.annotations = annotatedType == null ? Collections.emptyList() : signature(annotatedType);
+            this.hashCode = Objects.hash(aClass, type, annotations);
+        }
+
+        private static List<Object> signature(AnnotatedType annotatedType) {
+            Annotation[] own = annotatedType.getAnnotations();
+            AnnotatedType[] nested = nestedTypes(annotatedType);
+            if (nested.length == 0) {
+                return own.length == 0 ? Collections.emptyList() : Arrays.asList((Object[]) own);
+            }
+            List<Object> signature = new ArrayList<>(own.length + nested.length);
+            signature.addAll(Arrays.asList(own));
+            for (AnnotatedType n : nested) {
+                signature.add(signature(n));
+            }
+            return signature;
+        }
+
+        private static AnnotatedType[] nestedTypes(AnnotatedType annotatedType) {
+            if (annotatedType instanceof AnnotatedParameterizedType) {
+                return ((AnnotatedParameterizedType) annotatedType).getAnnotatedActualTypeArguments();
+            }
+            if (annotatedType instanceof AnnotatedArrayType) {
+                return new AnnotatedType[]{((AnnotatedArrayType) annotatedType).getAnnotatedGenericComponentType()};
+            }
+            if (annotatedType instanceof AnnotatedWildcardType) {
+                AnnotatedWildcardType wildcard = (AnnotatedWildcardType) annotatedType;
+                AnnotatedType[] upper = wildcard.getAnnotatedUpperBounds();
+                AnnotatedType[] lower = wildcard.getAnnotatedLowerBounds();
+                AnnotatedType[] bounds = Arrays.copyOf(upper, upper.length + lower.length);
+                System.arraycopy(lower, 0, bounds, upper.length, lower.length);
+                return bounds;
+            }
+            return new AnnotatedType[0];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DispatchKey)) return false;
+            DispatchKey that = (DispatchKey) o;
+            return hashCode == that.hashCode && aClass == that.aClass && Objects.equals(type, that.type)
+                    && annotations.equals(that.annotations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     @Reference(policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY)
     public void setGraphQLInputProcessor(GraphQLInputProcessor graphQLInputProcessor) {
         this.graphQLInputProcessor = graphQLInputProcessor;
@@ -0,0 +1,224 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.util;
+
+import graphql.annotations.annotationTypes.GraphQLField;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reflective metadata of a class, computed once per class and shared by all the builders.
+ * The methods and fields returned are always the same instances, so their annotations are also parsed only once.
+ */
+public final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<Method> orderedMethods;
+    private final Map<String, List<Method>> declaredMethods;
+    private final Boolean graphQLField;
+    private volatile Map<String, Field> allFields;
+    private volatile List<Class<?>> breadthFirstHierarchy;
+    private final Map<Method, Boolean> methodVerdicts = new ConcurrentHashMap<>();
+    private final Map<Field, Boolean> fieldVerdicts = new ConcurrentHashMap<>();
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+        List<Method> methods = new ArrayList<>(Arrays.asList(type.getMethods()));
+        methods.sort(Comparator.comparing(Method::getName));
+        this.orderedMethods = Collections.unmodifiableList(methods);
+        Map<String, List<Method>> declared = new HashMap<>();
+        for (Method method : type.getDeclaredMethods()) {
+            declared.computeIfAbsent(method.getName(), name -> new ArrayList<>(1)).add(method);
+        }
+        this.declaredMethods = declared;
+        this.graphQLField = isGraphQLField(type.getAnnotation(GraphQLField.class));
+    }
+
+    public static ClassMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @return the public methods of the class, sorted by name
+     */
+    public List<Method> getOrderedMethods() {
+        return orderedMethods;
+    }
+
+    /**
+     * @return the non synthetic fields of the class and of its superclasses by name, a field hiding a field of a
+     * superclass replaces it
+     */
+    public Map<String, Field> getAllFields() {
+        Map<String, Field> fields = allFields;
+        if (fields == null) {
+            Map<String, Field> result = type.getSuperclass() == null ? new TreeMap<>() : new TreeMap<>(of(type.getSuperclass()).getAllFields());
+            for (Field f : type.getDeclaredFields()) {
+                if (!f.isSynthetic()) {
+                    result.put(f.getName(), f);
+                }
+            }
+            allFields = fields = Collections.unmodifiableMap(result);
+        }
+        return fields;
+    }
+
+    /**
+     * Same as {@link Class#getDeclaredMethod(String, Class[])}, without throwing when the method is not declared
+     *
+     * @return the method declared by this class, or null
+     */
+    public Method getDeclaredMethod(String name, Class<?>[] parameterTypes) {
+        Method found = null;
+        for (Method method : declaredMethods.getOrDefault(name, Collections.emptyList())) {
+            if (Arrays.equals(method.getParameterTypes(), parameterTypes)
+                    && (found == null || found.getReturnType().isAssignableFrom(method.getReturnType()))) {
+                found = method;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return this class followed by its interfaces and superclasses, in breadth first order
+     */
+    public List<Class<?>> getBreadthFirstHierarchy() {
+        List<Class<?>> hierarchy = breadthFirstHierarchy;
+        if (hierarchy == null) {
+            Set<Class<?>> result = new LinkedHashSet<>();
+            List<Class<?>> queue = new ArrayList<>();
+            queue.add(type);
+            for (int i = 0; i < queue.size(); i++) {
+                Class<?> cls = queue.get(i);
+                if (result.add(cls)) {
+                    Collections.addAll(queue, cls.getInterfaces());
+                    if (cls.getSuperclass() != null) {
+                        queue.add(cls.getSuperclass());
+                    }
+                }
+            }
+            breadthFirstHierarchy = hierarchy = Collections.unmodifiableList(new ArrayList<>(result));
+        }
+        return hierarchy;
+    }
+
+    /**
+     * @return the value of the {@link GraphQLField} annotation of the class, or null if it is not annotated
+     */
+    public Boolean getGraphQLField() {
+        return graphQLField;
+    }
+
+    /**
+     * Returns whether a method is a GraphQL field: the {@link GraphQLField} annotation of the first declaration of
+     * the method, or of the first annotated class, in breadth first order from this class decides.
+     *
+     * @param method a method declared by this class
+     * @return true if the method is a GraphQL field
+     */
+    public boolean isGraphQLField(Method method) {
+        return methodVerdicts.computeIfAbsent(method, m -> search(m, ClassMetadata::isGraphQLField));
+    }
+
+    /**
+     * Returns whether a field of this class is a GraphQL field: the {@link GraphQLField} annotation of the field, or
+     * of the first annotated class among this class and its superclasses, decides.
+     *
+     * @param field a field declared by this class
+     * @return true if the field is a GraphQL field
+     */
+    public boolean isGraphQLField(Field field) {
+        return fieldVerdicts.computeIfAbsent(field, f -> search(f, ClassMetadata::isGraphQLField));
+    }
+
+    /**
+     * Searches the declarations of a method in the hierarchy of this class, as {@link #isGraphQLField(Method)} does
+     *
+     * @param method  a method declared by this class
+     * @param verdict the verdict of a declaration or a class, null if it doesn't decide
+     * @return true if the method is a GraphQL field
+     */
+    public boolean search(Method method, Function<AnnotatedElement, Boolean> verdict) {
+        String name = method.getName();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (Class<?> cls : getBreadthFirstHierarchy()) {
+            Method declared = of(cls).getDeclaredMethod(name, parameterTypes);
+            if (declared != null) {
+                Boolean gqf = verdict.apply(declared);
+                if (gqf != null) {
+                    return gqf;
+                }
+            }
+            Boolean gqf = verdict.apply(cls);
+            if (gqf != null) {
+                return gqf;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches the verdict of a field in the superclasses of this class, as {@link #isGraphQLField(Field)} does
+     *
+     * @param field   a field declared by this class
+     * @param verdict the verdict of a field or a class, null if it doesn't decide
+     * @return true if the field is a GraphQL field
+     */
+    public boolean search(Field field, Function<AnnotatedElement, Boolean> verdict) {
+        Boolean gqf = verdict.apply(field);
+        if (gqf != null) {
+            return gqf;
+        }
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            gqf = verdict.apply(cls);
+            if (gqf != null) {
+                return gqf;
+            }
+        }
+        return false;
+    }
+
+    private static Boolean isGraphQLField(AnnotatedElement element) {
+        if (element instanceof Class) {
+            return of((Class<?>) element).graphQLField;
+        }
+        return isGraphQLField(element.getAnnotation(GraphQLField.class));
+    }
+
+    private static Boolean isGraphQLField(GraphQLField annotation) {
+        return annotation == null ? null : annotation.value();
+    }
+}
@@ -26,6 +26,7 @@ import graphql.schema.*;
 import java.lang.reflect.AccessibleObject;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static graphql.annotations.processor.util.ReflectionKit.newInstance;
 
@@ -60,12 +61,22 @@ public class ConnectionUtil {
         return container.getRelay();
     }
 
-    public static DataFetcher getConnectionDataFetcher(GraphQLConnection connectionAnnotation, DataFetcher actualDataFetcher) {
-        actualDataFetcher = new ConnectionDataFetcher(connectionAnnotation.connectionFetcher(), actualDataFetcher);
+    public static DataFetcher getConnectionDataFetcher(GraphQLConnection connectionAnnotation, DataFetcher actualDataFetcher,
+                                                       ProcessingElementsContainer container) {
+        actualDataFetcher = new ConnectionDataFetcher(connectionAnnotation.connectionFetcher(), actualDataFetcher, connectionAnnotation.stateful());
         if (connectionAnnotation.async()) {
-            actualDataFetcher = new AsyncConnectionDataFetcher((ConnectionDataFetcher) actualDataFetcher);
+            actualDataFetcher = new AsyncConnectionDataFetcher((ConnectionDataFetcher) actualDataFetcher,
+                    getConnectionExecutor(connectionAnnotation, container));
         }
         return actualDataFetcher;
     }
 
+    public static Executor getConnectionExecutor(GraphQLConnection connectionAnnotation, ProcessingElementsContainer container) {
+        Class<? extends Executor> aClass = connectionAnnotation.executor();
+        if (aClass == Executor.class) {
+            return container.getConnectionExecutor();
+        }
+        return container.getConnectionExecutors().computeIfAbsent(aClass, key -> newInstance(aClass));
+    }
+
 }
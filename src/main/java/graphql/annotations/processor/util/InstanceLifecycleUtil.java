@@ -0,0 +1,72 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.util;
+
+import graphql.annotations.annotationTypes.GraphQLInvokeDetached;
+import graphql.annotations.annotationTypes.GraphQLTypeExtension;
+import graphql.annotations.dataFetchers.lifecycle.InstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.PerCallInstanceLifecycle;
+import graphql.annotations.dataFetchers.lifecycle.SingletonInstanceLifecycle;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InstanceLifecycleUtil {
+
+    /**
+     * @param method    a detached method
+     * @param container the container of the schema the method belongs to
+     * @return the lifecycle of the instances the method is invoked on, as specified by {@link GraphQLInvokeDetached}
+     */
+    public static InstanceLifecycle getDetachedLifecycle(Method method, ProcessingElementsContainer container) {
+        GraphQLInvokeDetached invokeDetached = method.getAnnotation(GraphQLInvokeDetached.class);
+        if (invokeDetached == null) {
+            return new PerCallInstanceLifecycle();
+        }
+        return getLifecycle(method.getDeclaringClass(), invokeDetached.lifecycle(), container);
+    }
+
+    /**
+     * @param declaringClass a class whose instances wrap a source object
+     * @param container      the container of the schema the class belongs to
+     * @return the lifecycle of the instances wrapping the source objects, as specified by {@link GraphQLTypeExtension}
+     * @throws GraphQLAnnotationsException if the type extension asks for singleton instances
+     */
+    public static InstanceLifecycle getWrappingLifecycle(Class<?> declaringClass, ProcessingElementsContainer container) throws GraphQLAnnotationsException {
+        GraphQLTypeExtension typeExtension = declaringClass.getAnnotation(GraphQLTypeExtension.class);
+        if (typeExtension == null) {
+            return new PerCallInstanceLifecycle();
+        }
+        if (SingletonInstanceLifecycle.class.isAssignableFrom(typeExtension.lifecycle())) {
+            throw new GraphQLAnnotationsException("Type extension " + declaringClass.getName() + " wraps its source objects and cannot use singleton instances", null);
+        }
+        return getLifecycle(declaringClass, typeExtension.lifecycle(), container);
+    }
+
+    /**
+     * The lifecycle is shared by all the fields of the class that declare it within a schema, so that they are resolved
+     * on the same instances. Without a container, the lifecycle isn't shared
+     */
+    private static InstanceLifecycle getLifecycle(Class<?> declaringClass, Class<? extends InstanceLifecycle> lifecycleClass,
+                                                  ProcessingElementsContainer container) {
+        if (container == null) {
+            return ReflectionKit.newInstance(lifecycleClass);
+        }
+        return container.getInstanceLifecycles().computeIfAbsent(declaringClass, aClass -> new ConcurrentHashMap<>())
+                .computeIfAbsent(lifecycleClass, ReflectionKit::newInstance);
+    }
+}
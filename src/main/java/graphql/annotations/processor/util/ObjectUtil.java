@@ -16,25 +16,10 @@ package graphql.annotations.processor.util;
 
 import java.lang.reflect.Field;
 import java.util.Map;
-import java.util.TreeMap;
 
 public class ObjectUtil {
 
     public static Map<String, Field> getAllFields(Class c) {
-        Map<String, Field> fields;
-
-        if (c.getSuperclass() != null) {
-            fields = getAllFields(c.getSuperclass());
-        } else {
-            fields = new TreeMap<>();
-        }
-
-        for (Field f : c.getDeclaredFields()) {
-            if (!f.isSynthetic()) {
-                fields.put(f.getName(), f);
-            }
-        }
-
-        return fields;
+        return ClassMetadata.of(c).getAllFields();
     }
 }
@@ -16,6 +16,9 @@ package graphql.annotations.processor.util;
 
 import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -69,4 +72,75 @@ public class ReflectionKit {
         }
         return null;
     }
+
+    /**
+     * Looks up a {@link MethodHandle} of a method, making it accessible if it cannot be accessed otherwise
+     *
+     * @param method the method to bind
+     * @return a direct method handle of the method
+     * @throws GraphQLAnnotationsException if the method cannot be accessed
+     */
+    public static MethodHandle unreflect(Method method) throws GraphQLAnnotationsException {
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new GraphQLAnnotationsException("Unable to bind method : " + method, ex);
+            }
+        }
+    }
+
+    /**
+     * Looks up a {@link MethodHandle} of a constructor, making it accessible if it cannot be accessed otherwise
+     *
+     * @param constructor the constructor to bind
+     * @return a direct method handle of the constructor
+     * @throws GraphQLAnnotationsException if the constructor cannot be accessed
+     */
+    public static MethodHandle unreflect(Constructor<?> constructor) throws GraphQLAnnotationsException {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            try {
+                constructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(constructor);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new GraphQLAnnotationsException("Unable to bind constructor : " + constructor, ex);
+            }
+        }
+    }
+
+    /**
+     * Binds a method to a {@link MethodHandle} of type {@code (Object, Object[])Object}, where the first argument is the
+     * receiver (ignored for static methods) and the second one is the spread argument array
+     *
+     * @param method the method to bind
+     * @return a method handle invoking the method
+     * @throws GraphQLAnnotationsException if the method cannot be accessed
+     */
+    public static MethodHandle invoker(Method method) throws GraphQLAnnotationsException {
+        MethodHandle handle = unreflect(method).asFixedArity();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        int parameterCount = method.getParameterCount();
+        return handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+    }
+
+    /**
+     * Binds a constructor to a {@link MethodHandle} of type {@code (Object[])Object}, taking the spread constructor arguments
+     *
+     * @param constructor the constructor to bind
+     * @return a method handle invoking the constructor
+     * @throws GraphQLAnnotationsException if the constructor cannot be accessed
+     */
+    public static MethodHandle constructorInvoker(Constructor<?> constructor) throws GraphQLAnnotationsException {
+        int parameterCount = constructor.getParameterCount();
+        return unreflect(constructor).asFixedArity().asType(MethodType.genericMethodType(parameterCount))
+                .asSpreader(Object[].class, parameterCount);
+    }
 }
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.strategies;
+
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ExecutionStrategyParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLOutputType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completes the values of the fields the way graphql-java-annotations expects, independently of the execution strategy:
+ * 1. An {@link Optional} is replaced by its value, or null if it is empty
+ * 2. A java enum returned by a field of an enum type is replaced by the value of its GraphQL enum value: the enum value
+ * holding the java enum itself, else the enum value of the same name
+ *
+ * A value that is already complete is returned as is, so that completing it doesn't allocate anything. The GraphQL
+ * values of the java enums are computed once per enum type.
+ *
+ * It is applied when completing the values by {@link EnhancedExecutionStrategy} and {@link ParallelEnhancedExecutionStrategy},
+ * to every data fetcher by {@link EnhancedValueCompletionInstrumentation}, or to a single data fetcher by {@link #decorate}
+ */
+public class EnhancedValueCompletion {
+
+    private final Map<GraphQLEnumType, Map<? extends Enum<?>, Object>> enumValues = new ConcurrentHashMap<>();
+
+    /**
+     * @param stepInfo the execution step of the field
+     * @param value    the value fetched for the field
+     * @return the completed value
+     */
+    public Object complete(ExecutionStepInfo stepInfo, Object value) {
+        while (value instanceof Optional) {
+            value = ((Optional<?>) value).orElse(null);
+        }
+        GraphQLOutputType type = stepInfo.getType();
+        if (value instanceof Enum && type instanceof GraphQLEnumType) {
+            Enum<?> constant = (Enum<?>) value;
+            Map<? extends Enum<?>, Object> values = enumValues.computeIfAbsent((GraphQLEnumType) type,
+                    enumType -> getEnumValues(enumType, constant.getDeclaringClass()));
+            Object enumValue = values.get(constant);
+            return enumValue != null ? enumValue : value;
+        }
+        return value;
+    }
+
+    /**
+     * @param parameters the parameters of the completion of a field value
+     * @return the same parameters if the value is already complete, else the parameters with the completed value as source
+     */
+    public ExecutionStrategyParameters complete(ExecutionStrategyParameters parameters) {
+        Object source = parameters.getSource();
+        Object value = complete(parameters.getExecutionStepInfo(), source);
+        if (value == source) {
+            return parameters;
+        }
+        return parameters.transform(builder -> builder.source(value));
+    }
+
+    /**
+     * @param dataFetcher a data fetcher
+     * @return a data fetcher completing the values of the given one, including asynchronous values and the data of
+     * {@link DataFetcherResult}s
+     */
+    public DataFetcher<?> decorate(DataFetcher<?> dataFetcher) {
+        return environment -> completeFetched(environment.getExecutionStepInfo(), dataFetcher.get(environment));
+    }
+
+    private Object completeFetched(ExecutionStepInfo stepInfo, Object fetched) {
+        if (fetched instanceof CompletionStage) {
+            return ((CompletionStage<?>) fetched).thenApply(value -> completeFetched(stepInfo, value));
+        }
+        if (fetched instanceof DataFetcherResult) {
+            DataFetcherResult<?> result = (DataFetcherResult<?>) fetched;
+            return DataFetcherResult.newResult()
+                    .data(complete(stepInfo, result.getData()))
+                    .errors(result.getErrors())
+                    .localContext(result.getLocalContext())
+                    .mapRelativeErrors(result.isMapRelativeErrors())
+                    .build();
+        }
+        return complete(stepInfo, fetched);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<? extends Enum<?>, Object> getEnumValues(GraphQLEnumType type, Class enumClass) {
+        Map<Enum<?>, Object> values = new EnumMap<>(enumClass);
+        for (GraphQLEnumValueDefinition definition : type.getValues()) {
+            if (enumClass.isInstance(definition.getValue())) {
+                values.put((Enum<?>) definition.getValue(), definition.getValue());
+            }
+        }
+        for (Object constant : enumClass.getEnumConstants()) {
+            GraphQLEnumValueDefinition definition = type.getValue(((Enum<?>) constant).name());
+            if (!values.containsKey(constant) && definition != null) {
+                values.put((Enum<?>) constant, definition.getValue());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.strategies;
+
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+
+/**
+ * Applies the {@link EnhancedValueCompletion} to the values of every data fetcher, so that any execution strategy can
+ * be used with Relay mutations, optional and enum values
+ */
+public class EnhancedValueCompletionInstrumentation extends SimpleInstrumentation {
+
+    private final EnhancedValueCompletion valueCompletion;
+
+    public EnhancedValueCompletionInstrumentation() {
+        this(new EnhancedValueCompletion());
+    }
+
+    public EnhancedValueCompletionInstrumentation(EnhancedValueCompletion valueCompletion) {
+        this.valueCompletion = valueCompletion;
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
+        return valueCompletion.decorate(dataFetcher);
+    }
+}
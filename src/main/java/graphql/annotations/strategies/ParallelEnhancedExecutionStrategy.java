@@ -0,0 +1,41 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.strategies;
+
+import graphql.execution.*;
+
+/**
+ * An {@link AsyncExecutionStrategy}, which resolves sibling fields concurrently, completing the values with the
+ * {@link EnhancedValueCompletion}. Use it as the query strategy, mutations are still executed serially by the
+ * mutation strategy
+ */
+public class ParallelEnhancedExecutionStrategy extends AsyncExecutionStrategy {
+
+    private final EnhancedValueCompletion valueCompletion;
+
+    public ParallelEnhancedExecutionStrategy() {
+        this(new SimpleDataFetcherExceptionHandler(), new EnhancedValueCompletion());
+    }
+
+    public ParallelEnhancedExecutionStrategy(DataFetcherExceptionHandler exceptionHandler, EnhancedValueCompletion valueCompletion) {
+        super(exceptionHandler);
+        this.valueCompletion = valueCompletion;
+    }
+
+    @Override
+    protected FieldValueInfo completeValue(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        return super.completeValue(executionContext, valueCompletion.complete(parameters));
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.typeResolvers;
+
+import graphql.TypeResolutionEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.TypeResolver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the type of an interface value from its class, without a hand written type resolver.
+ * Use it with {@link graphql.annotations.annotationTypes.GraphQLTypeResolver} (it is the default value). Every object
+ * type is registered with its class when it is built, and the type of a value is the type of its class or of its
+ * closest registered superclass. The type of each class is looked up once and cached.
+ */
+public class ClassTypeResolver implements TypeResolver {
+    private final Map<Class<?>, GraphQLObjectType> types = new ConcurrentHashMap<>();
+    private volatile ClassValue<Optional<GraphQLObjectType>> typesByClass = newCache();
+
+    /**
+     * Registers the object type of a class
+     *
+     * @param aClass the class
+     * @param type   the object type built from the class
+     */
+    public void register(Class<?> aClass, GraphQLObjectType type) {
+        types.put(aClass, type);
+        typesByClass = newCache();
+    }
+
+    /**
+     * Forgets the object type of a class, e.g. of a class which was reloaded
+     *
+     * @param aClass the class
+     */
+    public void unregister(Class<?> aClass) {
+        types.remove(aClass);
+        typesByClass = newCache();
+    }
+
+    /**
+     * @return the object types of the registered classes
+     */
+    public Map<Class<?>, GraphQLObjectType> getTypes() {
+        return Collections.unmodifiableMap(types);
+    }
+
+    @Override
+    public GraphQLObjectType getType(TypeResolutionEnvironment env) {
+        Object object = env.getObject();
+        return typesByClass.get(object.getClass())
+                .orElseThrow(() -> new RuntimeException("Unknown type " + object.getClass()));
+    }
+
+    private ClassValue<Optional<GraphQLObjectType>> newCache() {
+        return new ClassValue<Optional<GraphQLObjectType>>() {
+            @Override
+            protected Optional<GraphQLObjectType> computeValue(Class<?> type) {
+                for (Class<?> aClass = type; aClass != null; aClass = aClass.getSuperclass()) {
+                    GraphQLObjectType objectType = types.get(aClass);
+                    if (objectType != null) {
+                        return Optional.of(objectType);
+                    }
+                }
+                return Optional.empty();
+            }
+        };
+    }
+}
@@ -21,30 +21,64 @@ import graphql.schema.GraphQLType;
 import graphql.schema.TypeResolver;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+/**
+ * Resolves the type of a union value from its class. The type of each class is looked up once and cached: it is the
+ * type of the class itself, or of its most specific superclass or interface among the possible types of the union.
+ * A class which is not a possible type, nor a subclass of one, is unknown; so is a class which inherits from several
+ * possible types, none of which is more specific than the others.
+ */
 public class UnionTypeResolver implements TypeResolver {
-    private final Map<Class<?>, GraphQLType> types = new HashMap<>();
+    private final Map<Class<?>, GraphQLType> types = new LinkedHashMap<>();
+    private final ClassValue<Optional<GraphQLType>> typesByClass = new ClassValue<Optional<GraphQLType>>() {
+        @Override
+        protected Optional<GraphQLType> computeValue(Class<?> type) {
+            return Optional.ofNullable(findType(type));
+        }
+    };
 
     public UnionTypeResolver(Class<?>[] classes, ProcessingElementsContainer container) {
         Arrays.stream(classes).
                 forEach(c -> types.put(c,container.getDefaultTypeFunction().buildType(c, null, container)));
     }
 
+    /**
+     * @param types the possible types of the union, by class. A type may be a reference to an object type of the schema
+     */
+    public UnionTypeResolver(Map<Class<?>, ? extends GraphQLType> types) {
+        this.types.putAll(types);
+    }
+
     @Override
     public GraphQLObjectType getType(TypeResolutionEnvironment env) {
         Object object = env.getObject();
-        Optional<Entry<Class<?>, GraphQLType>> maybeType = types.entrySet().
-                stream().filter(e -> object.getClass().getSimpleName()
-                .equals(e.getKey().getSimpleName())).findFirst();
+        GraphQLType type = typesByClass.get(object.getClass())
+                .orElseThrow(() -> new RuntimeException("Unknown type " + object.getClass()));
+        if (type instanceof GraphQLObjectType) {
+            return (GraphQLObjectType) type;
+        }
+        return env.getSchema().getObjectType(type.getName());
+    }
 
-        if (maybeType.isPresent()) {
-            return (GraphQLObjectType) maybeType.get().getValue();
-        } else {
-            throw new RuntimeException("Unknown type " + object.getClass());
+    private GraphQLType findType(Class<?> aClass) {
+        GraphQLType type = types.get(aClass);
+        if (type != null) {
+            return type;
+        }
+        List<Class<?>> candidates = types.keySet().stream()
+                .filter(possibleClass -> possibleClass.isAssignableFrom(aClass))
+                .collect(Collectors.toList());
+        List<Class<?>> mostSpecific = candidates.stream()
+                .filter(candidate -> candidates.stream().noneMatch(other -> other != candidate && candidate.isAssignableFrom(other)))
+                .collect(Collectors.toList());
+        if (mostSpecific.size() > 1) {
+            throw new RuntimeException("Ambiguous type " + aClass + ", it inherits from the possible types " + mostSpecific);
         }
+        return mostSpecific.isEmpty() ? null : types.get(mostSpecific.get(0));
     }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDataLoader;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import static graphql.Scalars.GraphQLString;
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class GraphQLDataLoaderTest {
+
+    private static final List<List<Book>> authorCalls = new ArrayList<>();
+
+    @BeforeMethod
+    public void init() {
+        authorCalls.clear();
+    }
+
+    @GraphQLName("Book")
+    public static class Book {
+        private final String title;
+
+        public Book(String title) {
+            this.title = title;
+        }
+
+        @GraphQLField
+        public String title() {
+            return title;
+        }
+
+        @GraphQLField
+        @GraphQLDataLoader
+        public static List<String> author(List<Book> books) {
+            authorCalls.add(books);
+            return books.stream().map(book -> "author of " + book.title).collect(Collectors.toList());
+        }
+
+        @GraphQLField
+        @GraphQLDataLoader(name = "isbn")
+        public static CompletionStage<List<String>> isbn(List<Book> books) {
+            return CompletableFuture.supplyAsync(() -> books.stream().map(book -> book.title.toUpperCase()).collect(Collectors.toList()));
+        }
+    }
+
+    @GraphQLName("Query")
+    public static class Query {
+        @GraphQLField
+        public List<Book> books() {
+            return Arrays.asList(new Book("a"), new Book("b"), new Book("c"));
+        }
+    }
+
+    public static class NoStaticDataLoaderField {
+        @GraphQLField
+        @GraphQLDataLoader
+        public List<String> a(List<Object> sources) {
+            return Arrays.asList("one", "two");
+        }
+    }
+
+    @Test
+    public void dataLoaderField_typeIsListElementType_keysAreNotArguments() {
+        GraphQLObjectType book = new GraphQLAnnotations().object(Book.class);
+        assertEquals(book.getFieldDefinition("author").getType(), GraphQLString);
+        assertTrue(book.getFieldDefinition("author").getArguments().isEmpty());
+        assertEquals(book.getFieldDefinition("isbn").getType(), GraphQLString);
+    }
+
+    @Test
+    public void dataLoaderField_withRegistry_sourcesAreBatched() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQLSchema schema = builder.build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query("{books {author isbn}}")
+                .root(new Query()).dataLoaderRegistry(builder.getGraphQLAnnotations().newDataLoaderRegistry()).build());
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        List<Map<String, Object>> books = (List<Map<String, Object>>) ((Map<String, Object>) result.getData()).get("books");
+        assertEquals(books.get(0).get("author"), "author of a");
+        assertEquals(books.get(2).get("author"), "author of c");
+        assertEquals(books.get(1).get("isbn"), "B");
+        assertEquals(authorCalls.size(), 1);
+        assertEquals(authorCalls.get(0).size(), 3);
+    }
+
+    @Test
+    public void dataLoaderField_withoutRegistry_sourcesAreLoadedSeparately() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).build();
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute("{books {author isbn}}", new Query());
+
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        List<Map<String, Object>> books = (List<Map<String, Object>>) ((Map<String, Object>) result.getData()).get("books");
+        assertEquals(books.get(1).get("author"), "author of b");
+        assertEquals(books.get(2).get("isbn"), "C");
+        assertEquals(authorCalls.size(), 3);
+    }
+
+    @Test
+    public void newDataLoaderRegistry_containsDataLoaderOfEveryField() {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        graphQLAnnotations.object(Book.class);
+        assertEquals(graphQLAnnotations.newDataLoaderRegistry().getKeys().size(), 2);
+        assertNotNull(graphQLAnnotations.newDataLoaderRegistry().getDataLoader("isbn"));
+        assertNotSame(graphQLAnnotations.newDataLoaderRegistry().getDataLoader("isbn"), graphQLAnnotations.newDataLoaderRegistry().getDataLoader("isbn"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void noStaticField() {
+        new GraphQLAnnotations().object(NoStaticDataLoaderField.class);
+    }
+}
@@ -375,4 +375,47 @@ public class GraphQLInputTest {
         assertEquals(schema.getQueryType().getFieldDefinition("getB").getArgument("input").getType().getClass(), GraphQLInputObjectType.class);
 
     }
+
+    public static class TreeInput {
+        public TreeInput(@GraphQLName("value") String value, @GraphQLName("children") List<TreeInput> children) {
+            this.value = value;
+            this.children = children;
+        }
+
+        @GraphQLField
+        private String value;
+
+        @GraphQLField
+        private List<TreeInput> children;
+    }
+
+    public static class QueryTree {
+        @GraphQLField
+        public String flatten(@GraphQLName("input") TreeInput input) {
+            StringBuilder sb = new StringBuilder(input.value);
+            if (input.children != null) {
+                for (TreeInput child : input.children) {
+                    sb.append(flatten(child));
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    @Test
+    public void queryWithRecursiveConstructorInput() {
+        GraphQLSchema schema = newAnnotationsSchema().query(QueryTree.class).build();
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        ExecutionResult result = graphQL.execute("{ flatten(input:{value:\"a\", children:[{value:\"b\", children:[{value:\"c\"}]},{value:\"d\"}]}) }", new QueryTree());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(((Map<String, String>) result.getData()).get("flatten"), "abcd");
+    }
+
+    @Test
+    public void inputObjectType_registersInputConverter() {
+        this.graphQLAnnotations.object(QueryTree.class);
+
+        assertTrue(this.graphQLAnnotations.getContainer().getInputConverters().containsKey(TreeInput.class));
+    }
 }
@@ -28,11 +28,13 @@ import graphql.schema.*;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("unchecked")
@@ -167,6 +169,65 @@ public class GraphQLInterfaceTest {
         assertEquals(((Map<String, Map<String, String>>) result.getData()).get("iface").get("value"), "a");
     }
 
+    @GraphQLTypeResolver
+    public interface Shape {
+        @GraphQLField
+        String name();
+    }
+
+    public static class Circle implements Shape {
+        @Override
+        public String name() {
+            return "circle";
+        }
+    }
+
+    public static class Square implements Shape {
+        @Override
+        public String name() {
+            return "square";
+        }
+    }
+
+    public static class LargeSquare extends Square {
+    }
+
+    public static class ShapesFetcher implements DataFetcher {
+        @Override
+        public Object get(DataFetchingEnvironment environment) {
+            return Arrays.asList(new Circle(), new Square(), new LargeSquare());
+        }
+    }
+
+    public static class ShapeQuery {
+        @GraphQLDataFetcher(ShapesFetcher.class)
+        @GraphQLField
+        public List<Shape> shapes;
+    }
+
+    @Test
+    public void queryWithClassTypeResolver_typesAreResolvedFromClasses() {
+        GraphQLSchema schema = newAnnotationsSchema().query(ShapeQuery.class)
+                .additionalType(Circle.class).additionalType(Square.class).build();
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        ExecutionResult result = graphQL.execute("{ shapes { __typename name } }");
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        List<Map<String, String>> shapes = ((Map<String, List<Map<String, String>>>) result.getData()).get("shapes");
+        assertEquals(shapes.get(0).get("__typename"), "Circle");
+        assertEquals(shapes.get(1).get("__typename"), "Square");
+        assertEquals(shapes.get(2).get("__typename"), "Square");
+        assertEquals(shapes.get(2).get("name"), "square");
+    }
+
+    @Test
+    public void interfaceWithClassTypeResolver_typeResolverIsShared() {
+        this.graphQLAnnotations.object(ShapeQuery.class);
+        GraphQLInterfaceType shape = (GraphQLInterfaceType) this.graphQLAnnotations.getTypeRegistry().get("Shape");
+        assertSame(this.graphQLAnnotations.getContainer().getCodeRegistryBuilder().getTypeResolver(shape),
+                this.graphQLAnnotations.getContainer().getClassTypeResolver());
+    }
+
     @Test
     public void queryUnion() {
         GraphQLSchema schema = newAnnotationsSchema().query(UnionQuery.class).build();
@@ -26,6 +26,8 @@ import graphql.schema.*;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -125,6 +127,82 @@ public class GraphQLUnionTest {
         assertEquals(((Map<String, Map<String, String>>) result.getData()).get("getPet").get("mew"), "mew");
     }
 
+    @Test
+    public void unionQuery_returnTypeIsSubclassOfPossibleType_getPossibleType() {
+        GraphQLSchema schema = newAnnotationsSchema().query(ClassResolutionQuery.class).build();
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        String query = "{ getHardwareLaptop{ __typename } }";
+        ExecutionResult result = graphQL.execute(query);
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(((Map<String, Map<String, String>>) result.getData()).get("getHardwareLaptop").get("__typename"), "Computer");
+    }
+
+    @Test(expectedExceptions = RuntimeException.class, expectedExceptionsMessageRegExp = "Unknown type .*DB\\$Screen")
+    public void unionQuery_returnTypeHasSameSimpleNameAsPossibleType_isRejected() {
+        GraphQLSchema schema = newAnnotationsSchema().query(ClassResolutionQuery.class).build();
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        String query = "{ getHardwareDBScreen{ ... on Computer {name}, ... on Screen{resolution}} }";
+        graphQL.execute(query);
+    }
+
+    interface Wired {
+    }
+
+    interface Wireless {
+    }
+
+    static class Headset implements Wired, Wireless {
+    }
+
+    @Test(expectedExceptions = RuntimeException.class, expectedExceptionsMessageRegExp = "Ambiguous type .*")
+    public void unionTypeResolver_severalMostSpecificPossibleTypes_throwsException() {
+        Map<Class<?>, graphql.schema.GraphQLType> types = new LinkedHashMap<>();
+        types.put(Wired.class, GraphQLObjectType.newObject().name("Wired").build());
+        types.put(Wireless.class, GraphQLObjectType.newObject().name("Wireless").build());
+        UnionTypeResolver typeResolver = new UnionTypeResolver(types);
+
+        typeResolver.getType(new TypeResolutionEnvironment(new Headset(), new HashMap<>(), null, null, null, null));
+    }
+
+    static class Laptop extends Computer {
+        public Laptop(String name) {
+            super(name);
+        }
+    }
+
+    public static class LaptopFetcher implements DataFetcher<Hardware> {
+        @Override
+        public Hardware get(DataFetchingEnvironment environment) {
+            return new Laptop("MyLaptop");
+        }
+    }
+
+    static class DB {
+        static class Screen {
+            int resolution = 20;
+        }
+    }
+
+    public static class DBScreenFetcher implements DataFetcher<Object> {
+        @Override
+        public Object get(DataFetchingEnvironment environment) {
+            return new DB.Screen();
+        }
+    }
+
+    class ClassResolutionQuery {
+
+        @GraphQLField
+        @GraphQLDataFetcher(LaptopFetcher.class)
+        public Hardware getHardwareLaptop;
+        @GraphQLField
+        @GraphQLDataFetcher(DBScreenFetcher.class)
+        public Hardware getHardwareDBScreen;
+
+    }
+
     static class Screen implements Hardware {
         @GraphQLField
         int resolution;
@@ -0,0 +1,176 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLLazy;
+import graphql.annotations.annotationTypes.GraphQLUnion;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class LazySchemaTest {
+
+    public static class Query {
+        @GraphQLField
+        public Book book() {
+            return new Book();
+        }
+
+        @GraphQLField
+        public Admin admin() {
+            return new Admin();
+        }
+
+        @GraphQLField
+        public Pet pet() {
+            return new Dog();
+        }
+    }
+
+    public static class Book {
+        @GraphQLField
+        public String title = "Dune";
+
+        @GraphQLField
+        public Publisher publisher = new Publisher();
+    }
+
+    public static class Publisher {
+        @GraphQLField
+        public String name = "Chilton";
+    }
+
+    @GraphQLLazy
+    public static class Admin {
+        @GraphQLField
+        public int users = 3;
+    }
+
+    @GraphQLUnion(possibleTypes = {Dog.class, Cat.class})
+    public interface Pet {
+    }
+
+    public static class Dog implements Pet {
+        @GraphQLField
+        public String bark = "woof";
+
+        @GraphQLField
+        public Toy toy = new Toy();
+    }
+
+    public static class Toy {
+        @GraphQLField
+        public String name = "ball";
+    }
+
+    public static class Cat implements Pet {
+        @GraphQLField
+        public String meow = "meow";
+    }
+
+    @Test
+    public void build_lazyDepth_deeperTypesAreDeferredUntilMaterialized() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class).lazy(1);
+
+        GraphQLSchema schema = builder.buildPartial();
+
+        GraphQLObjectType book = schema.getObjectType("Book");
+        assertNotNull(book.getFieldDefinition("title"));
+        assertNull(book.getFieldDefinition("publisher"));
+        assertNull(schema.getType("Publisher"));
+        assertNull(schema.getQueryType().getFieldDefinition("admin"));
+        assertEquals(execute(schema, "{ book { title } }").get("book").toString(), "{title=Dune}");
+
+        GraphQLSchema complete = builder.materialize();
+
+        assertNotNull(complete.getObjectType("Book").getFieldDefinition("publisher"));
+        assertSame(complete.getType("Cat"), schema.getType("Cat"));
+        assertEquals(execute(complete, "{ book { publisher { name } } admin { users } }").toString(),
+                "{book={publisher={name=Chilton}}, admin={users=3}}");
+    }
+
+    @Test
+    public void build_lazy_onlyAnnotatedTypesAreDeferred() throws Exception {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class).lazy();
+
+        GraphQLSchema schema = builder.buildPartial();
+
+        assertNull(schema.getQueryType().getFieldDefinition("admin"));
+        assertNotNull(schema.getObjectType("Book").getFieldDefinition("publisher"));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GraphQLSchema complete = builder.materializeAsync(executor).get();
+            assertSame(complete.getType("Book"), schema.getType("Book"));
+            assertEquals(execute(complete, "{ admin { users } }").get("admin").toString(), "{users=3}");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void build_possibleTypesOfUnionsAreDeferred_theyAreBuiltWithTheUnion() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).lazy(0).buildPartial();
+
+        assertNotNull(schema.getQueryType().getFieldDefinition("pet"));
+        assertNull(schema.getQueryType().getFieldDefinition("book"));
+        assertNull(schema.getObjectType("Dog").getFieldDefinition("toy"));
+        assertEquals(execute(schema, "{ pet { ... on Dog { bark } } }").get("pet").toString(), "{bark=woof}");
+    }
+
+    @Test
+    public void build_lazyDepth_depthIsTheNumberOfFieldsFromTheRootTypes() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).lazy(2).buildPartial();
+
+        // Toy is reached through the pet and toy fields, even though the union is built in between
+        assertNotNull(schema.getObjectType("Dog").getFieldDefinition("toy"));
+        assertNotNull(schema.getObjectType("Book").getFieldDefinition("publisher"));
+        assertEquals(execute(schema, "{ pet { ... on Dog { toy { name } } } }").get("pet").toString(), "{toy={name=ball}}");
+    }
+
+    @Test
+    public void build_lazyBuilder_theSchemaIsComplete() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class).lazy(0);
+
+        GraphQLSchema schema = builder.build();
+
+        assertNotNull(schema.getObjectType("Book").getFieldDefinition("publisher"));
+        assertEquals(execute(schema, "{ book { publisher { name } } admin { users } }").toString(),
+                "{book={publisher={name=Chilton}}, admin={users=3}}");
+        assertSame(builder.materialize(), schema);
+    }
+
+    private static Map<String, Object> execute(GraphQLSchema schema, String query) {
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(ExecutionInput.newExecutionInput()
+                .query(query).root(new Query()).build());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        return result.getData();
+    }
+}
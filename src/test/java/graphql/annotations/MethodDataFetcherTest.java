@@ -20,6 +20,7 @@ import graphql.GraphQL;
 import graphql.annotations.annotationTypes.*;
 import graphql.annotations.dataFetchers.MethodDataFetcher;
 import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.processor.ProcessingElementsContainer;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLSchema;
@@ -28,6 +29,7 @@ import org.testng.annotations.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
@@ -363,6 +365,26 @@ public class MethodDataFetcherTest {
         }
     }
 
+    public String uncheckedMethod() {
+        throw new IllegalStateException("unchecked");
+    }
+
+    public String errorMethod() {
+        throw new AssertionError("error");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void uncheckedExceptionIsNotWrapped() throws NoSuchMethodException {
+        MethodDataFetcher methodDataFetcher = new MethodDataFetcher(getClass().getMethod("uncheckedMethod"), null, null);
+        methodDataFetcher.get(newDataFetchingEnvironment().source(this).arguments(new HashMap<>()).build());
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void errorIsNotWrapped() throws NoSuchMethodException {
+        MethodDataFetcher methodDataFetcher = new MethodDataFetcher(getClass().getMethod("errorMethod"), null, null);
+        methodDataFetcher.get(newDataFetchingEnvironment().source(this).arguments(new HashMap<>()).build());
+    }
+
 
     @GraphQLType
     public static class ApiType {
@@ -501,4 +523,24 @@ public class MethodDataFetcherTest {
         assertFalse(result.getErrors().isEmpty());
         assertTrue(((ExceptionWhileDataFetching) result.getErrors().get(0)).getException().getCause() instanceof NoSuchFieldException);
     }
-}
\ No newline at end of file
+
+    public static class OptionalApi {
+        @GraphQLField
+        public Optional<String> present() {
+            return Optional.of("value");
+        }
+
+        @GraphQLField
+        public Optional<String> absent() {
+            return Optional.empty();
+        }
+    }
+
+    @Test
+    public void optionalReturnType_valueIsUnwrappedWhenFetched() throws Exception {
+        ProcessingElementsContainer container = graphQLAnnotations.getContainer();
+        DataFetchingEnvironment environment = newDataFetchingEnvironment().source(new OptionalApi()).arguments(new HashMap<>()).build();
+        assertEquals(new MethodDataFetcher<>(OptionalApi.class.getMethod("present"), container.getDefaultTypeFunction(), container).get(environment), "value");
+        assertNull(new MethodDataFetcher<>(OptionalApi.class.getMethod("absent"), container.getDefaultTypeFunction(), container).get(environment));
+    }
+}
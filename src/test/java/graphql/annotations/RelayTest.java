@@ -18,8 +18,11 @@ import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.TypeResolutionEnvironment;
 import graphql.annotations.annotationTypes.*;
+import graphql.annotations.dataFetchers.RelayMutationMethodDataFetcher;
 import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
 import graphql.annotations.strategies.EnhancedExecutionStrategy;
+import graphql.execution.DataFetcherResult;
 import graphql.schema.*;
 import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLType;
@@ -27,8 +30,13 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
 import static org.testng.Assert.*;
@@ -246,4 +254,167 @@ public class RelayTest {
         assertEquals(returns.get("getI"), -1);
         assertEquals(returns.get("clientMutationId"), "1");
     }
+
+    @Test
+    public void aliasedMutationsWithDefaultStrategies() {
+        GraphQLSchema schema = newAnnotationsSchema().query(TestObject.class).mutation(TestObject.class).build();
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+
+        ExecutionResult result = graphQL.execute("mutation { first: doSomethingElse(input: {a: 0, b: 1, clientMutationId: \"1\"}) { getI clientMutationId } " +
+                "second: doSomethingElse(input: {a: 3, b: 1, clientMutationId: \"2\"}) { getI clientMutationId } }", new TestObject());
+
+        assertEquals(result.getErrors().size(), 0);
+
+        Map<String, Object> first = (Map<String, Object>) ((Map<String, Object>) result.getData()).get("first");
+        Map<String, Object> second = (Map<String, Object>) ((Map<String, Object>) result.getData()).get("second");
+
+        assertEquals(first.get("getI"), -1);
+        assertEquals(first.get("clientMutationId"), "1");
+        assertEquals(second.get("getI"), 2);
+        assertEquals(second.get("clientMutationId"), "2");
+    }
+
+    public static class Target {
+        @GraphQLField
+        public String name;
+
+        public Target(@GraphQLName("name") String name) {
+            this.name = name;
+        }
+    }
+
+    public static class NestedInputMutation {
+        @GraphQLField
+        @GraphQLRelayMutation
+        public Result rename(@GraphQLName("target") Target target, DataFetchingEnvironment environment,
+                             @GraphQLName("new_suffix") String suffix) {
+            assertNotNull(environment);
+            return new Result((target.name + suffix).length());
+        }
+    }
+
+    @Test
+    public void nestedInputMutation_inputFieldsAreConvertedAndBoundByName() {
+        GraphQLSchema schema = newAnnotationsSchema().query(NestedInputMutation.class).mutation(NestedInputMutation.class).build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+
+        ExecutionResult result = graphQL.execute("mutation { rename(input: {target: {name: \"abc\"}, new_suffix: \"de\", clientMutationId: \"1\"}) " +
+                "{ getI clientMutationId } }", new NestedInputMutation());
+
+        assertEquals(result.getErrors().size(), 0, result.getErrors().toString());
+        Map<String, Object> rename = ((Map<String, Map<String, Object>>) result.getData()).get("rename");
+        assertEquals(rename.get("getI"), 5);
+        assertEquals(rename.get("clientMutationId"), "1");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedMutationDataFetcher_argumentsAreBoundInParameterOrder() throws Exception {
+        GraphQLSchema schema = newAnnotationsSchema().query(NestedInputMutation.class).mutation(NestedInputMutation.class).build();
+        GraphQLFieldDefinition field = schema.getMutationType().getFieldDefinition("rename");
+        GraphQLInputObjectType input = (GraphQLInputObjectType) ((GraphQLNonNull) field.getArgument("input").getType()).getWrappedType();
+        List<GraphQLArgument> args = Arrays.asList("target", "new_suffix").stream().map(name ->
+                GraphQLArgument.newArgument().name(name).type(input.getField(name).getType()).build()).collect(Collectors.toList());
+        RelayMutationMethodDataFetcher dataFetcher = new RelayMutationMethodDataFetcher(NestedInputMutation.class.getMethod("rename",
+                Target.class, DataFetchingEnvironment.class, String.class), args, input, field.getType());
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("target", Collections.singletonMap("name", "abc"));
+        values.put("new_suffix", "de");
+        Object payload = dataFetcher.get(DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new NestedInputMutation())
+                .arguments(Collections.singletonMap("input", values)).build());
+
+        assertEquals(((Result) ((DataFetcherResult<?>) payload).getData()).getI(), 5);
+    }
+
+    public static class RenameInput {
+        private final String name;
+
+        public RenameInput(@GraphQLName("name") String name) {
+            this.name = name;
+        }
+    }
+
+    public static class BatchedMutations {
+        static final AtomicInteger batches = new AtomicInteger();
+
+        @GraphQLField
+        @GraphQLRelayMutation(batch = "renameAll")
+        public Result rename(@GraphQLName("name") String name) {
+            throw new IllegalStateException("only the batch method resolves rename");
+        }
+
+        public Result renameAll(RenameInput input) {
+            throw new IllegalStateException("the batch method takes the list of inputs");
+        }
+
+        public List<Result> renameAll(List<RenameInput> inputs) {
+            batches.incrementAndGet();
+            return inputs.stream().map(input -> new Result(input.name.length())).collect(Collectors.toList());
+        }
+
+        @GraphQLField
+        @GraphQLRelayMutation(batch = "subtractAll")
+        public Result subtract(@GraphQLName("a") int a, @GraphQLName("b") int b) {
+            throw new IllegalStateException("only the batch method resolves subtract");
+        }
+
+        public List<Result> subtractAll(DataFetchingEnvironment environment, List<Map<String, Object>> inputs) {
+            batches.incrementAndGet();
+            return inputs.stream().map(input -> new Result((Integer) input.get("a") - (Integer) input.get("b"))).collect(Collectors.toList());
+        }
+    }
+
+    public static class WrongBatchMethod {
+        @GraphQLField
+        @GraphQLRelayMutation(batch = "renameAll")
+        public Result rename(@GraphQLName("name") String name) {
+            return new Result(0);
+        }
+
+        public Result renameAll(String name) {
+            return new Result(0);
+        }
+    }
+
+    @Test
+    public void batchedMutation_siblingInvocationsAreResolvedOnce() {
+        GraphQLSchema schema = newAnnotationsSchema().query(BatchedMutations.class).mutation(BatchedMutations.class).build();
+        GraphQL graphQL = GraphQL.newGraphQL(schema).build();
+        BatchedMutations.batches.set(0);
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("name", "abc");
+        input.put("clientMutationId", "3");
+        ExecutionResult result = graphQL.execute("mutation Rename($input: RenameInput!) { " +
+                "first: rename(input: {name: \"a\", clientMutationId: \"1\"}) { getI clientMutationId } " +
+                "second: rename(input: {name: \"ab\", clientMutationId: \"2\"}) { getI clientMutationId } " +
+                "third: rename(input: $input) { getI clientMutationId } " +
+                "other: subtract(input: {a: 3, b: 1, clientMutationId: \"4\"}) { getI clientMutationId } }",
+                new BatchedMutations(), Collections.singletonMap("input", input));
+
+        assertEquals(result.getErrors().size(), 0, result.getErrors().toString());
+        assertEquals(BatchedMutations.batches.get(), 2);
+
+        Map<String, Map<String, Object>> data = result.getData();
+        assertEquals(data.get("first").get("getI"), 1);
+        assertEquals(data.get("first").get("clientMutationId"), "1");
+        assertEquals(data.get("second").get("getI"), 2);
+        assertEquals(data.get("second").get("clientMutationId"), "2");
+        assertEquals(data.get("third").get("getI"), 3);
+        assertEquals(data.get("third").get("clientMutationId"), "3");
+        assertEquals(data.get("other").get("getI"), 2);
+        assertEquals(data.get("other").get("clientMutationId"), "4");
+
+        result = graphQL.execute("mutation { rename(input: {name: \"abcd\", clientMutationId: \"5\"}) { getI clientMutationId } }", new BatchedMutations());
+        assertEquals(result.getErrors().size(), 0, result.getErrors().toString());
+        assertEquals(BatchedMutations.batches.get(), 3);
+        assertEquals(((Map<String, Map<String, Object>>) result.getData()).get("rename").get("getI"), 4);
+    }
+
+    @Test(expectedExceptions = GraphQLAnnotationsException.class)
+    public void batchedMutation_batchMethodWithoutList_throwsException() {
+        newAnnotationsSchema().query(WrongBatchMethod.class).mutation(WrongBatchMethod.class).build();
+    }
 }
@@ -0,0 +1,283 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static graphql.schema.FieldCoordinates.coordinates;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SchemaRebuildTest {
+
+    private static volatile boolean failing;
+
+    private final List<Path> outputs = new ArrayList<>();
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        failing = false;
+        for (Path output : outputs) {
+            try (Stream<Path> files = Files.walk(output)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+        outputs.clear();
+    }
+
+    // named, since the simple name of a reloaded nested class can't be read
+    @GraphQLName("Query")
+    public static class Query {
+        @GraphQLField
+        public Book book() {
+            return new Book();
+        }
+
+        @GraphQLField
+        public Author author() {
+            return new Author();
+        }
+    }
+
+    public static class Book {
+        @GraphQLField
+        public String title = "Dune";
+
+        @GraphQLField
+        public Publisher publisher = new Publisher();
+    }
+
+    public static class Author {
+        @GraphQLField
+        public String name = "Frank Herbert";
+    }
+
+    public static class Publisher {
+        @GraphQLField
+        public String name = "Chilton";
+
+        @GraphQLField
+        @GraphQLDataFetcher(CountryFetcher.class)
+        public String country;
+    }
+
+    public static class CountryFetcher implements DataFetcher<String> {
+        public CountryFetcher() {
+            if (failing) {
+                throw new GraphQLAnnotationsException("Unable to create the fetcher", null);
+            }
+        }
+
+        @Override
+        public String get(DataFetchingEnvironment environment) {
+            return "USA";
+        }
+    }
+
+    @Test
+    public void rebuild_classChanged_onlyItsTypeAndTheTypesReferringToItAreRebuilt() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQLSchema schema = builder.build();
+
+        GraphQLSchema rebuilt = builder.rebuild(Collections.singleton(Publisher.class));
+
+        assertNotSame(rebuilt, schema);
+        assertNotSame(rebuilt.getType("Publisher"), schema.getType("Publisher"));
+        assertNotSame(rebuilt.getType("Book"), schema.getType("Book"));
+        assertNotSame(rebuilt.getQueryType(), schema.getQueryType());
+        assertSame(rebuilt.getType("Author"), schema.getType("Author"));
+        assertEquals(execute(rebuilt, new Query()).get("book").toString(), "{title=Dune, publisher={name=Chilton, country=USA}}");
+    }
+
+    @Test
+    public void rebuild_classReloaded_newVersionOfTheClassIsUsed() throws Exception {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQLSchema schema = builder.build();
+        Class<?> reloadedQuery = reload(Query.class);
+
+        GraphQLSchema rebuilt = builder.rebuild(Collections.singleton(reloadedQuery));
+
+        assertNotSame(rebuilt.getQueryType(), schema.getQueryType());
+        assertSame(rebuilt.getType("Book"), schema.getType("Book"));
+        assertSame(rebuilt.getType("Author"), schema.getType("Author"));
+        Map<String, Object> data = execute(rebuilt, reloadedQuery.newInstance());
+        assertEquals(data.get("author").toString(), "{name=Frank Herbert}");
+    }
+
+    @Test
+    public void rebuild_fieldRemoved_itsCodeAndTypeAreDropped() throws Exception {
+        Class<?> query = compile("package reloaded;\n" +
+                "import graphql.annotations.annotationTypes.*;\n" +
+                "public class Query {\n" +
+                "    @GraphQLField public String hello() { return \"hello\"; }\n" +
+                "    @GraphQLField public Old old() { return new Old(); }\n" +
+                "    public static class Old { @GraphQLField public String name = \"old\"; }\n" +
+                "}\n");
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(query);
+        GraphQLSchema schema = builder.build();
+        Class<?> reloadedQuery = compile("package reloaded;\n" +
+                "import graphql.annotations.annotationTypes.*;\n" +
+                "public class Query {\n" +
+                "    @GraphQLField public String hello() { return \"hello again\"; }\n" +
+                "}\n");
+
+        GraphQLSchema rebuilt = builder.rebuild(Collections.singleton(reloadedQuery));
+
+        GraphQLCodeRegistry.Builder code = GraphQLCodeRegistry.newCodeRegistry(rebuilt.getCodeRegistry());
+        assertTrue(GraphQLCodeRegistry.newCodeRegistry(schema.getCodeRegistry()).hasDataFetcher(coordinates("Query", "old")));
+        assertFalse(code.hasDataFetcher(coordinates("Query", "old")));
+        assertFalse(code.hasDataFetcher(coordinates("Old", "name")));
+        assertTrue(code.hasDataFetcher(coordinates("Query", "hello")));
+        assertFalse(builder.getGraphQLAnnotations().getTypeRegistry().containsKey("Old"));
+        ExecutionResult result = GraphQL.newGraphQL(rebuilt).build().execute(ExecutionInput.newExecutionInput()
+                .query("{ hello }").root(reloadedQuery.newInstance()).build());
+        assertEquals(result.getData().toString(), "{hello=hello again}");
+    }
+
+    @Test
+    public void rebuild_typeCantBeBuilt_previousTypesAreKept() {
+        AnnotationsSchemaCreator.Builder builder = newAnnotationsSchema().query(Query.class);
+        GraphQLSchema schema = builder.build();
+        GraphQLAnnotations graphQLAnnotations = builder.getGraphQLAnnotations();
+
+        failing = true;
+        try {
+            builder.rebuild(Collections.singleton(Publisher.class));
+            fail("the rebuild should fail");
+        } catch (GraphQLAnnotationsException e) {
+            assertSame(graphQLAnnotations.getTypeRegistry().get("Publisher"), schema.getType("Publisher"));
+            assertTrue(graphQLAnnotations.getContainer().getProcessing().isEmpty());
+        }
+
+        failing = false;
+        GraphQLSchema rebuilt = builder.rebuild(Collections.singleton(Publisher.class));
+        assertNotSame(rebuilt.getType("Publisher"), schema.getType("Publisher"));
+        assertSame(rebuilt.getType("Author"), schema.getType("Author"));
+        assertEquals(execute(rebuilt, new Query()).get("book").toString(), "{title=Dune, publisher={name=Chilton, country=USA}}");
+    }
+
+    @Test
+    public void object_typeCantBeBuilt_typesBuiltBeforeAreKept() {
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        graphQLAnnotations.object(Author.class);
+
+        failing = true;
+        try {
+            graphQLAnnotations.object(Book.class);
+            fail("the build should fail");
+        } catch (GraphQLAnnotationsException e) {
+            assertTrue(graphQLAnnotations.getTypeRegistry().containsKey("Author"));
+            assertFalse(graphQLAnnotations.getTypeRegistry().containsKey("Book"));
+            assertFalse(graphQLAnnotations.getTypeRegistry().containsKey("Publisher"));
+        }
+    }
+
+    private static Map<String, Object> execute(GraphQLSchema schema, Object root) {
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute(ExecutionInput.newExecutionInput()
+                .query("{ book { title publisher { name country } } author { name } }").root(root).build());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        return result.getData();
+    }
+
+    /**
+     * Compiles a version of a class and loads it in a new class loader, as a class reloading tool would
+     */
+    private Class<?> compile(String source) throws IOException, ClassNotFoundException {
+        Path classes = Files.createTempDirectory("classes");
+        outputs.add(classes);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classes.toFile()));
+            JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///reloaded/Query.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            assertTrue(compiler.getTask(null, fileManager, null, Arrays.asList("-classpath", System.getProperty("java.class.path"), "-proc:none"),
+                    null, Collections.singletonList(file)).call());
+        }
+        return new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader()).loadClass("reloaded.Query");
+    }
+
+    /**
+     * Loads a new version of a class, as a class reloading tool would
+     */
+    private static Class<?> reload(Class<?> aClass) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = aClass.getResourceAsStream(aClass.getName().substring(aClass.getName().lastIndexOf('.') + 1) + ".class")) {
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                bytes.write(buffer, 0, read);
+            }
+        }
+        byte[] classFile = bytes.toByteArray();
+        return new ClassLoader(aClass.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (name.equals(aClass.getName())) {
+                    synchronized (getClassLoadingLock(name)) {
+                        Class<?> loaded = findLoadedClass(name);
+                        return loaded != null ? loaded : defineClass(name, classFile, 0, classFile.length);
+                    }
+                }
+                return super.loadClass(name, resolve);
+            }
+        }.loadClass(aClass.getName());
+    }
+}
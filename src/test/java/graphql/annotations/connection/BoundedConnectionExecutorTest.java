@@ -0,0 +1,78 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+public class BoundedConnectionExecutorTest {
+
+    @Test
+    public void execute_queueIsFull_callerRunsTask() throws Exception {
+        BoundedConnectionExecutor executor = new BoundedConnectionExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await(5, TimeUnit.SECONDS);
+            executor.execute(() -> {
+            });
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            executor.execute(() -> thread.set(Thread.currentThread()));
+
+            assertSame(thread.get(), Thread.currentThread());
+            assertEquals(executor.getCallerRunsCount(), 1);
+            assertEquals(executor.getQueueDepth(), 1);
+            assertEquals(executor.getMaxQueueDepth(), 1);
+            assertEquals(executor.getActiveCount(), 1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = RejectedExecutionException.class)
+    public void execute_afterShutdown_rejectsTask() {
+        BoundedConnectionExecutor executor = new BoundedConnectionExecutor(1, 1);
+        executor.shutdown();
+        CompletableFuture.supplyAsync(() -> "connection", executor);
+    }
+
+    @Test
+    public void virtualThreadExecutor_supportedOnlyFromJava21() throws Exception {
+        if (!VirtualThreadConnectionExecutor.isSupported()) {
+            return;
+        }
+        VirtualThreadConnectionExecutor executor = new VirtualThreadConnectionExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+}
@@ -28,6 +28,8 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
 import static org.testng.Assert.assertEquals;
@@ -79,11 +81,26 @@ public class GraphQLEnhancedConnectionTest {
         @GraphQLDataFetcher(GoodConnectionDataFetcher.class)
         public PaginatedData<Obj> objsAsync;
 
+        @GraphQLField
+        @GraphQLConnection(connectionFetcher = PaginatedDataConnectionFetcher.class, async = true, executor = RecordingExecutor.class)
+        @GraphQLDataFetcher(GoodConnectionDataFetcher.class)
+        public PaginatedData<Obj> objsOnExecutor;
+
         public TestListField(PaginatedData<Obj> objs) {
             this.objs = objs;
         }
     }
 
+    public static class RecordingExecutor implements Executor {
+        static final AtomicInteger executions = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable command) {
+            executions.incrementAndGet();
+            command.run();
+        }
+    }
+
     public static class GoodConnectionDataFetcher implements DataFetcher<PaginatedData<Obj>> {
 
         @Override
@@ -159,6 +176,28 @@ public static class NotGoodDataFetcher implements DataFetcher<List<Obj>> {
         assertEquals(edges.get(1).get("cursor"), "2");
     }
 
+    @Test
+    public void fetchConnectionAsync_withConnectionExecutor_connectionIsFetchedOnExecutor() throws Exception {
+        RecordingExecutor.executions.set(0);
+        ExecutionResult result = graphQL.execute("{ objsOnExecutor(first:2) { edges { cursor } } }");
+        Map<String, Map<String, List<Map<String, Map<String, Object>>>>> data = result.getData();
+
+        assertEquals(data.get("objsOnExecutor").get("edges").size(), 2);
+        assertEquals(RecordingExecutor.executions.get(), 1);
+    }
+
+    @Test
+    public void fetchConnectionAsync_withGlobalExecutor_connectionIsFetchedOnGlobalExecutor() throws Exception {
+        RecordingExecutor executor = new RecordingExecutor();
+        RecordingExecutor.executions.set(0);
+        GraphQLSchema schema = newAnnotationsSchema().query(TestListField.class).setConnectionExecutor(executor).build();
+        ExecutionResult result = GraphQL.newGraphQL(schema).build().execute("{ objsAsync(first:2) { edges { cursor } } }");
+        Map<String, Map<String, List<Map<String, Map<String, Object>>>>> data = result.getData();
+
+        assertEquals(data.get("objsAsync").get("edges").size(), 2);
+        assertEquals(RecordingExecutor.executions.get(), 1);
+    }
+
     @Test
     public void validDatafetcher_queryForValues_returnsValidValues() throws Exception {
         //Arrange
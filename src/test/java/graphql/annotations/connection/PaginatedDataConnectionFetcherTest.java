@@ -0,0 +1,91 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.connection;
+
+import graphql.relay.Connection;
+import graphql.relay.Edge;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.assertEquals;
+
+public class PaginatedDataConnectionFetcherTest {
+
+    private static class CountingPaginatedData extends NaivePaginatedData<String> {
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        CountingPaginatedData(List<String> data) {
+            super(false, false, data);
+        }
+
+        @Override
+        public String getCursor(String entity) {
+            lookups.incrementAndGet();
+            return super.getCursor(entity);
+        }
+    }
+
+    private static class EntityCursorPaginatedData extends AbstractPaginatedData<String> {
+        EntityCursorPaginatedData(List<String> data) {
+            super(false, false, data);
+        }
+
+        @Override
+        public String getCursor(String entity) {
+            return "cursor-" + entity;
+        }
+    }
+
+    private static List<String> cursors(Connection<String> connection) {
+        return connection.getEdges().stream().map(edge -> edge.getCursor().getValue()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void naivePaginatedData_cursorsAreComputedFromIndex() throws Exception {
+        List<String> data = Arrays.asList("a", "b", "c");
+        CountingPaginatedData paginatedData = new CountingPaginatedData(data);
+        NaivePaginatedData<String> expected = new NaivePaginatedData<>(false, false, data);
+
+        Connection<String> connection = new PaginatedDataConnectionFetcher<String>(environment -> paginatedData)
+                .get(newDataFetchingEnvironment().build());
+
+        assertEquals(cursors(connection), Arrays.asList(expected.getCursor("a"), expected.getCursor("b"), expected.getCursor("c")));
+        assertEquals(paginatedData.lookups.get(), 0);
+    }
+
+    @Test
+    public void naivePaginatedData_equalEntities_haveDistinctCursors() throws Exception {
+        NaivePaginatedData<String> paginatedData = new NaivePaginatedData<>(false, false, Arrays.asList("a", "a"));
+
+        Connection<String> connection = new PaginatedDataConnectionFetcher<String>(environment -> paginatedData)
+                .get(newDataFetchingEnvironment().build());
+
+        assertEquals(cursors(connection), Arrays.asList(paginatedData.getCursor("a", 0), paginatedData.getCursor("a", 1)));
+    }
+
+    @Test
+    public void paginatedDataWithoutIndexedCursor_cursorsAreComputedFromEntity() throws Exception {
+        Connection<String> connection = new PaginatedDataConnectionFetcher<String>(environment -> new EntityCursorPaginatedData(Arrays.asList("a", "b")))
+                .get(newDataFetchingEnvironment().build());
+
+        assertEquals(cursors(connection), Arrays.asList("cursor-a", "cursor-b"));
+        assertEquals(connection.getEdges().stream().map(Edge::getNode).collect(Collectors.toList()), Arrays.asList("a", "b"));
+    }
+}
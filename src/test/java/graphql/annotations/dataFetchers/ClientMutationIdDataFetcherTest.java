@@ -0,0 +1,53 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import graphql.execution.ExecutionStepInfo;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static graphql.Scalars.GraphQLString;
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.*;
+
+public class ClientMutationIdDataFetcherTest {
+
+    @Test
+    public void get_capturedClientMutationId_valueIsDeterminedByLocalContext() {
+        DataFetchingEnvironment environment = newDataFetchingEnvironment()
+                .localContext(ClientMutationIdDataFetcher.capture(Collections.singletonMap("clientMutationId", "1")))
+                .executionStepInfo(payloadStep("2"))
+                .build();
+        assertEquals(new ClientMutationIdDataFetcher().get(environment), "1");
+    }
+
+    @Test
+    public void get_otherLocalContext_valueIsDeterminedByMutationInput() {
+        DataFetchingEnvironment environment = newDataFetchingEnvironment()
+                .localContext("context")
+                .executionStepInfo(payloadStep("2"))
+                .build();
+        assertEquals(new ClientMutationIdDataFetcher().get(environment), "2");
+    }
+
+    private static ExecutionStepInfo payloadStep(String clientMutationId) {
+        ExecutionStepInfo mutationStep = ExecutionStepInfo.newExecutionStepInfo().type(GraphQLString)
+                .arguments(Collections.singletonMap("input", Collections.singletonMap("clientMutationId", clientMutationId)))
+                .build();
+        return ExecutionStepInfo.newExecutionStepInfo().type(GraphQLString).parentInfo(mutationStep).build();
+    }
+}
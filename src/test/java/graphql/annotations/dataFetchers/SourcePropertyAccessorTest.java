@@ -0,0 +1,63 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class SourcePropertyAccessorTest {
+
+    public static class SuperSource {
+        private String name = "field";
+        private String nullable;
+
+        public String getName() {
+            return null;
+        }
+
+        private String isHidden() {
+            return "hidden";
+        }
+    }
+
+    public static class Source extends SuperSource {
+    }
+
+    @Test
+    public void of_sameClassAndFieldName_returnsCachedAccessor() {
+        assertSame(SourcePropertyAccessor.of(Source.class, "name"), SourcePropertyAccessor.of(Source.class, "name"));
+    }
+
+    @Test
+    public void get_getterReturnsNull_valueIsDeterminedByField() throws Exception {
+        assertEquals(SourcePropertyAccessor.of(Source.class, "name").get(new Source()), "field");
+    }
+
+    @Test
+    public void get_privateGetterInSuperClass_valueIsDeterminedByGetter() throws Exception {
+        assertEquals(SourcePropertyAccessor.of(Source.class, "hidden").get(new Source()), "hidden");
+    }
+
+    @Test(expectedExceptions = NoSuchFieldException.class)
+    public void get_noGetterOrField_throwsNoSuchFieldException() throws Exception {
+        SourcePropertyAccessor.of(Source.class, "missing").get(new Source());
+    }
+
+    @Test(expectedExceptions = NoSuchFieldException.class)
+    public void get_fieldValueIsNull_throwsNoSuchFieldException() throws Exception {
+        SourcePropertyAccessor.of(Source.class, "nullable").get(new Source());
+    }
+}
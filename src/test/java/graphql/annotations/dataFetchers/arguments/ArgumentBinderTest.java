@@ -0,0 +1,87 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.arguments;
+
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.processor.ProcessingElementsContainer;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.*;
+
+public class ArgumentBinderTest {
+
+    private ProcessingElementsContainer container;
+
+    @BeforeMethod
+    public void init() {
+        this.container = new ProcessingElementsContainer();
+    }
+
+    public static class Api {
+        public String noArgs() {
+            return null;
+        }
+
+        public String withArgs(String a, DataFetchingEnvironment environment, @GraphQLName("other") Integer b) {
+            return null;
+        }
+    }
+
+    @Test
+    public void bind_noParameters_returnsEmptyArray() throws Exception {
+        ArgumentBinder binder = new ArgumentBinder(Api.class.getMethod("noArgs"), container.getDefaultTypeFunction(), container);
+        Object[] args = binder.bind(newDataFetchingEnvironment().arguments(new HashMap<>()).build());
+        assertEquals(args.length, 0);
+    }
+
+    @Test
+    public void bind_namedArgumentsAndEnvironment_fillsSlotsInParameterOrder() throws Exception {
+        ArgumentBinder binder = withArgsBinder();
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("a", "value");
+        arguments.put("other", 5);
+        DataFetchingEnvironment environment = newDataFetchingEnvironment().arguments(arguments).build();
+
+        Object[] args = binder.bind(environment);
+
+        assertEquals(args.length, 3);
+        assertEquals(args[0], "value");
+        assertSame(args[1], environment);
+        assertEquals(args[2], 5);
+    }
+
+    @Test
+    public void bind_missingArgument_bindsNull() throws Exception {
+        ArgumentBinder binder = withArgsBinder();
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("other", 5);
+
+        Object[] args = binder.bind(newDataFetchingEnvironment().arguments(arguments).build());
+
+        assertNull(args[0]);
+        assertEquals(args[2], 5);
+    }
+
+    private ArgumentBinder withArgsBinder() throws NoSuchMethodException {
+        return new ArgumentBinder(Api.class.getMethod("withArgs", String.class, DataFetchingEnvironment.class, Integer.class),
+                container.getDefaultTypeFunction(), container);
+    }
+}
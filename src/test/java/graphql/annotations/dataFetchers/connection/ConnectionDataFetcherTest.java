@@ -0,0 +1,80 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.connection;
+
+import graphql.annotations.connection.ConnectionFetcher;
+import graphql.relay.Connection;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultPageInfo;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.assertEquals;
+
+public class ConnectionDataFetcherTest {
+
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    @BeforeMethod
+    public void init() {
+        instances.set(0);
+    }
+
+    public static class CountingConnectionFetcher implements ConnectionFetcher<Object> {
+        public CountingConnectionFetcher(DataFetcher<?> dataFetcher) {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public Connection<Object> get(DataFetchingEnvironment environment) {
+            return new DefaultConnection<>(Collections.emptyList(), new DefaultPageInfo(null, null, false, false));
+        }
+    }
+
+    public static class NoArgConnectionFetcher extends CountingConnectionFetcher {
+        public NoArgConnectionFetcher() {
+            super(null);
+        }
+    }
+
+    @Test
+    public void get_connectionFetcherIsCreatedOnce() throws Exception {
+        ConnectionDataFetcher<Object> dataFetcher = new ConnectionDataFetcher<>(CountingConnectionFetcher.class, environment -> null);
+        dataFetcher.get(newDataFetchingEnvironment().build());
+        dataFetcher.get(newDataFetchingEnvironment().build());
+
+        assertEquals(instances.get(), 1);
+    }
+
+    @Test
+    public void get_stateful_connectionFetcherIsCreatedForEveryResolution() throws Exception {
+        ConnectionDataFetcher<Object> dataFetcher = new ConnectionDataFetcher<>(CountingConnectionFetcher.class, environment -> null, true);
+        dataFetcher.get(newDataFetchingEnvironment().build());
+        dataFetcher.get(newDataFetchingEnvironment().build());
+
+        assertEquals(instances.get(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void noSingleArgumentConstructor_throwsException() {
+        new ConnectionDataFetcher<>(NoArgConnectionFetcher.class, environment -> null);
+    }
+}
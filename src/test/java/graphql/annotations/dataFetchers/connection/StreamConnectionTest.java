@@ -0,0 +1,123 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.connection;
+
+import graphql.annotations.processor.util.Base64;
+import graphql.relay.Connection;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingEnvironment;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
+import static org.testng.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class StreamConnectionTest {
+
+    private static DataFetchingEnvironment environment(Object... arguments) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < arguments.length; i += 2) {
+            map.put((String) arguments[i], arguments[i + 1]);
+        }
+        return newDataFetchingEnvironment().arguments(map).build();
+    }
+
+    private static String cursor(int offset) {
+        return Base64.toBase64("stream-cursor" + offset);
+    }
+
+    private static List<Object> nodes(Connection<Object> connection) {
+        return connection.getEdges().stream().map(Edge::getNode).collect(Collectors.toList());
+    }
+
+    @Test
+    public void first_onlyPageAndOneMoreElementAreConsumed() {
+        AtomicInteger consumed = new AtomicInteger();
+        Stream<Integer> stream = IntStream.range(0, 1_000_000).boxed().peek(i -> consumed.incrementAndGet());
+
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(stream).get(environment("first", 3));
+
+        assertEquals(nodes(connection), Arrays.asList(0, 1, 2));
+        assertEquals(consumed.get(), 4);
+        assertTrue(connection.getPageInfo().isHasNextPage());
+        assertFalse(connection.getPageInfo().isHasPreviousPage());
+        assertEquals(connection.getEdges().get(0).getCursor().getValue(), cursor(1));
+    }
+
+    @Test
+    public void firstAfter_skipsToCursor() {
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(IntStream.range(0, 10).boxed())
+                .get(environment("first", 2, "after", cursor(3)));
+
+        assertEquals(nodes(connection), Arrays.asList(3, 4));
+        assertEquals(connection.getPageInfo().getStartCursor().getValue(), cursor(4));
+        assertEquals(connection.getPageInfo().getEndCursor().getValue(), cursor(5));
+    }
+
+    @Test
+    public void last_keepsLastElements() {
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(IntStream.range(0, 10).boxed())
+                .get(environment("last", 3));
+
+        assertEquals(nodes(connection), Arrays.asList(7, 8, 9));
+        assertTrue(connection.getPageInfo().isHasPreviousPage());
+        assertFalse(connection.getPageInfo().isHasNextPage());
+        assertEquals(connection.getPageInfo().getStartCursor().getValue(), cursor(8));
+    }
+
+    @Test
+    public void lastBefore_beforeElementIsExcluded() {
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(IntStream.range(0, 10).boxed())
+                .get(environment("last", 2, "before", cursor(5)));
+
+        assertEquals(nodes(connection), Arrays.asList(2, 3));
+    }
+
+    @Test
+    public void lastGreaterThanStream_returnsWholeStream() {
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(IntStream.range(0, 3).boxed())
+                .get(environment("last", 5));
+
+        assertEquals(nodes(connection), Arrays.asList(0, 1, 2));
+        assertFalse(connection.getPageInfo().isHasPreviousPage());
+    }
+
+    @Test
+    public void firstAndLast_lastIsAppliedOnFirstElements() {
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(IntStream.range(0, 10).boxed())
+                .get(environment("first", 5, "last", 2));
+
+        assertEquals(nodes(connection), Arrays.asList(3, 4));
+        assertTrue(connection.getPageInfo().isHasPreviousPage());
+        assertTrue(connection.getPageInfo().isHasNextPage());
+    }
+
+    @Test
+    public void emptyPage_returnsEmptyConnection() {
+        Connection<Object> connection = (Connection<Object>) new StreamConnection(IntStream.range(0, 3).boxed())
+                .get(environment("first", 2, "after", cursor(3)));
+
+        assertTrue(connection.getEdges().isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.dataFetchers.lifecycle;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLInvokeDetached;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLTypeExtension;
+import graphql.annotations.processor.exceptions.GraphQLAnnotationsException;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.*;
+
+public class InstanceLifecycleTest {
+
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    @GraphQLName("Query")
+    public static class Query {
+        private final int id = instances.incrementAndGet();
+
+        @GraphQLField
+        @GraphQLInvokeDetached
+        public int perCall() {
+            return id;
+        }
+
+        @GraphQLField
+        @GraphQLInvokeDetached(lifecycle = PerRequestInstanceLifecycle.class)
+        public int perRequest() {
+            return id;
+        }
+
+        @GraphQLField
+        @GraphQLInvokeDetached(lifecycle = SingletonInstanceLifecycle.class)
+        public int singleton() {
+            return id;
+        }
+
+        @GraphQLField
+        public Item item() {
+            return new Item();
+        }
+    }
+
+    @GraphQLName("Item")
+    public static class Item {
+        @GraphQLField
+        public String name() {
+            return "item";
+        }
+    }
+
+    @GraphQLTypeExtension(value = Item.class, lifecycle = PerRequestInstanceLifecycle.class)
+    public static class ItemExtension {
+        private final int id = instances.incrementAndGet();
+
+        public ItemExtension(Item item) {
+        }
+
+        @GraphQLField
+        public int first() {
+            return id;
+        }
+
+        @GraphQLField
+        public int second() {
+            return id;
+        }
+    }
+
+    @GraphQLTypeExtension(value = Item.class, lifecycle = SingletonInstanceLifecycle.class)
+    public static class SingletonItemExtension {
+        public SingletonItemExtension(Item item) {
+        }
+
+        @GraphQLField
+        public int third() {
+            return 0;
+        }
+    }
+
+    private static Map<String, Integer> execute(GraphQL graphQL, String query) {
+        ExecutionResult result = graphQL.execute(query);
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        return result.getData();
+    }
+
+    @Test
+    public void perCall_newInstanceForEveryResolution() {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        Map<String, Integer> data = execute(graphQL, "{a: perCall b: perCall}");
+        assertNotEquals(data.get("a"), data.get("b"));
+    }
+
+    @Test
+    public void perRequest_instanceReusedWithinExecutionOnly() {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        Map<String, Integer> first = execute(graphQL, "{a: perRequest b: perRequest}");
+        Map<String, Integer> second = execute(graphQL, "{a: perRequest}");
+        assertEquals(first.get("a"), first.get("b"));
+        assertNotEquals(first.get("a"), second.get("a"));
+    }
+
+    @Test
+    public void singleton_instanceReusedAcrossExecutions() {
+        GraphQL graphQL = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        Map<String, Integer> first = execute(graphQL, "{a: singleton b: singleton}");
+        Map<String, Integer> second = execute(graphQL, "{a: singleton}");
+        assertEquals(first.get("a"), first.get("b"));
+        assertEquals(first.get("a"), second.get("a"));
+    }
+
+    @Test
+    public void singleton_instanceNotSharedAcrossSchemas() {
+        GraphQL first = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        GraphQL second = GraphQL.newGraphQL(newAnnotationsSchema().query(Query.class).build()).build();
+        assertNotEquals(execute(first, "{a: singleton}").get("a"), execute(second, "{a: singleton}").get("a"));
+    }
+
+    @Test
+    public void perRequestTypeExtension_sameInstanceForAllFieldsOfSource() {
+        GraphQLSchema schema = newAnnotationsSchema().query(Query.class).typeExtension(ItemExtension.class).build();
+        Map<String, Object> data = GraphQL.newGraphQL(schema).build().execute("{item {first second}}", new Query()).getData();
+        Map<String, Integer> item = (Map<String, Integer>) data.get("item");
+        assertEquals(item.get("first"), item.get("second"));
+    }
+
+    @Test(expectedExceptions = GraphQLAnnotationsException.class)
+    public void singletonTypeExtension_throwsException() {
+        newAnnotationsSchema().query(Query.class).typeExtension(SingletonItemExtension.class).build();
+    }
+
+    @Test
+    public void instanceFactory_sameClass_returnsCachedFactory() {
+        assertSame(InstanceFactory.of(Query.class), InstanceFactory.of(Query.class));
+    }
+
+    @Test
+    public void instanceFactory_noWrappingConstructor_returnsNull() {
+        assertNull(InstanceFactory.of(ItemExtension.class).newInstance("not an item"));
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.discovery;
+
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLUnion;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ClassDiscoveryTest {
+
+    public static class Query {
+        @GraphQLField
+        public List<Author> authors;
+
+        @GraphQLField
+        public Pet pet(@GraphQLName("filter") Filter filter) {
+            return null;
+        }
+    }
+
+    public static class Author {
+        @GraphQLField
+        public Map<String, Book[]> books;
+    }
+
+    public static class Book {
+        @GraphQLField
+        public String title;
+
+        @GraphQLField
+        public Author author;
+    }
+
+    public static class Filter {
+        @GraphQLField
+        public String name;
+    }
+
+    @GraphQLUnion(possibleTypes = {Dog.class, Cat.class})
+    public interface Pet {
+    }
+
+    public static class Dog implements Pet {
+        @GraphQLField
+        public String bark;
+    }
+
+    public static class Cat implements Pet {
+        @GraphQLField
+        public String meow;
+    }
+
+    public static class Additional {
+        @GraphQLField
+        public Comparable<Additional> comparable;
+    }
+
+    public static class Unrelated {
+    }
+
+    public static class Partly {
+        @GraphQLField
+        public String name;
+
+        @Deprecated
+        public Unrelated unrelated;
+    }
+
+    @Test
+    public void discover_reachableClasses_areDiscovered() {
+        Set<Class<?>> classes = new ClassDiscovery().discover(Collections.singleton(Query.class));
+
+        assertTrue(classes.contains(Query.class));
+        assertTrue(classes.contains(Author.class));
+        assertTrue(classes.contains(Book.class));
+        assertTrue(classes.contains(Filter.class));
+        assertTrue(classes.contains(Pet.class));
+        assertTrue(classes.contains(Dog.class));
+        assertTrue(classes.contains(Cat.class));
+        assertFalse(classes.contains(String.class));
+        assertFalse(classes.contains(Map.class));
+    }
+
+    @Test
+    public void discover_recursiveGenericBounds_terminates() {
+        Set<Class<?>> classes = new ClassDiscovery().discover(Collections.singleton(Additional.class));
+
+        assertEquals(classes, Collections.singleton(Additional.class));
+    }
+
+    @Test
+    public void discover_membersWithoutAnnotationsOfTheLibrary_areNotWalked() {
+        Set<Class<?>> classes = new ClassDiscovery().discover(Collections.singleton(Partly.class));
+
+        assertEquals(classes, Collections.singleton(Partly.class));
+    }
+}
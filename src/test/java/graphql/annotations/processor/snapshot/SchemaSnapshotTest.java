@@ -0,0 +1,248 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.snapshot;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLTypeResolver;
+import graphql.annotations.annotationTypes.GraphQLUnion;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.annotations.typeResolvers.ClassTypeResolver;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SchemaSnapshotTest {
+    private static final String QUERY = "{ hello(name: \"world\") color(color: dark_blue) sum(point: {x: 1, y: 2}) " +
+            "shape { name ... on Circle { radius } } pets { ... on Dog { bark } ... on Cat { meow } } }";
+
+    private Path snapshotFile;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        snapshotFile = Files.createTempDirectory("snapshot").resolve("schema.snapshot");
+    }
+
+    public enum Color {
+        RED,
+        @GraphQLName("dark_blue")
+        BLUE
+    }
+
+    @GraphQLTypeResolver(ClassTypeResolver.class)
+    public interface Shape {
+        @GraphQLField
+        String name();
+    }
+
+    public static class Circle implements Shape {
+        @GraphQLField
+        public int radius = 2;
+
+        @Override
+        @GraphQLField
+        public String name() {
+            return "circle";
+        }
+    }
+
+    @GraphQLUnion(possibleTypes = {Dog.class, Cat.class})
+    public interface Pet {
+    }
+
+    public static class Dog implements Pet {
+        @GraphQLField
+        public String bark = "woof";
+    }
+
+    public static class Cat implements Pet {
+        @GraphQLField
+        public String meow = "meow";
+    }
+
+    public static class Point {
+        @GraphQLField
+        public int x;
+
+        @GraphQLField
+        public int y;
+
+        public Point(@GraphQLName("x") int x, @GraphQLName("y") int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public static class Query {
+        @GraphQLField
+        public String hello(@GraphQLName("name") String name) {
+            return "hello " + name;
+        }
+
+        @GraphQLField
+        public Color color(@GraphQLName("color") Color color) {
+            return color;
+        }
+
+        @GraphQLField
+        public int sum(@GraphQLName("point") Point point) {
+            return point.x + point.y;
+        }
+
+        @GraphQLField
+        public Shape shape() {
+            return new Circle();
+        }
+
+        @GraphQLField
+        public List<Pet> pets() {
+            return Arrays.asList(new Dog(), new Cat());
+        }
+    }
+
+    public static class CustomFetcher implements DataFetcher<String> {
+        @Override
+        public String get(DataFetchingEnvironment environment) {
+            return "custom";
+        }
+    }
+
+    public static class CustomQuery {
+        @GraphQLField
+        @GraphQLDataFetcher(CustomFetcher.class)
+        public String custom;
+    }
+
+    private GraphQLSchema build(Class<?> query, Class<?>... additionalTypes) {
+        return newAnnotationsSchema().setAnnotationsProcessor(new GraphQLAnnotations())
+                .query(query).additionalTypes(new HashSet<>(Arrays.asList(additionalTypes)))
+                .snapshot(snapshotFile).build();
+    }
+
+    private Map<String, Object> execute(GraphQLSchema schema) {
+        ExecutionResult result = GraphQL.newGraphQL(schema).build()
+                .execute(ExecutionInput.newExecutionInput().query(QUERY).root(new Query()).build());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        return result.getData();
+    }
+
+    private static boolean isRestored(GraphQLSchema schema) {
+        // the types of a restored schema are built from its SDL
+        return schema.getQueryType().getDefinition() != null;
+    }
+
+    @Test
+    public void build_withSnapshot_theSchemaIsRestoredOnTheNextBuild() {
+        GraphQLSchema built = build(Query.class, Circle.class);
+        assertTrue(Files.exists(snapshotFile));
+        assertFalse(isRestored(built));
+
+        GraphQLSchema restored = build(Query.class, Circle.class);
+        assertTrue(isRestored(restored));
+
+        assertEquals(new SchemaPrinter().print(restored), new SchemaPrinter().print(built));
+        Map<String, Object> expected = execute(built);
+        assertEquals(execute(restored), expected);
+        assertEquals(expected.get("hello"), "hello world");
+        assertEquals(expected.get("color"), "dark_blue");
+        assertEquals(expected.get("sum"), 3);
+        Map<String, Object> shape = new HashMap<>();
+        shape.put("name", "circle");
+        shape.put("radius", 2);
+        assertEquals(expected.get("shape"), shape);
+    }
+
+    @Test
+    public void build_withSnapshot_noTypeIsBuiltFromTheClasses() {
+        build(Query.class, Circle.class);
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+
+        GraphQLSchema restored = newAnnotationsSchema().setAnnotationsProcessor(graphQLAnnotations)
+                .query(Query.class).additionalType(Circle.class).snapshot(snapshotFile).build();
+
+        assertTrue(isRestored(restored));
+        assertTrue(graphQLAnnotations.getTypeRegistry().isEmpty(), graphQLAnnotations.getTypeRegistry().keySet().toString());
+        assertEquals(execute(restored).get("sum"), 3);
+    }
+
+    @Test
+    public void build_configurationChanged_theSchemaIsBuiltAgain() {
+        build(Query.class);
+
+        GraphQLSchema schema = build(Query.class, Circle.class);
+
+        assertFalse(isRestored(schema));
+        assertNotNull(schema.getObjectType("Circle"));
+        assertTrue(isRestored(build(Query.class, Circle.class)));
+    }
+
+    @Test
+    public void build_inputPrefixChanged_theSchemaIsBuiltAgain() {
+        build(Query.class, Circle.class);
+        GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
+        graphQLAnnotations.getContainer().setInputPrefix("Request");
+
+        GraphQLSchema schema = newAnnotationsSchema().setAnnotationsProcessor(graphQLAnnotations)
+                .query(Query.class).additionalType(Circle.class).snapshot(snapshotFile).build();
+
+        assertFalse(isRestored(schema));
+        assertFalse(isRestored(build(Query.class, Circle.class)));
+    }
+
+    @Test
+    public void build_corruptedSnapshot_theSchemaIsBuiltAgain() throws IOException {
+        Files.write(snapshotFile, new byte[]{1, 2, 3});
+
+        GraphQLSchema schema = build(Query.class, Circle.class);
+
+        assertFalse(isRestored(schema));
+        assertTrue(isRestored(build(Query.class, Circle.class)));
+    }
+
+    @Test
+    public void build_customDataFetcher_noSnapshotIsWritten() {
+        build(CustomQuery.class);
+
+        assertFalse(Files.exists(snapshotFile));
+    }
+
+    @Test
+    public void computeKey_missingClassFile_noKey() {
+        assertNull(SchemaSnapshot.computeKey("", Arrays.asList("graphql.annotations.Missing"), getClass().getClassLoader()));
+    }
+}
@@ -193,6 +193,37 @@ public class DefaultTypeFunctionTest {
         assertTrue(((GraphQLObjectType) class1class2.getType()).getFieldDefinition("class2").getType() instanceof GraphQLTypeReference);
     }
 
+    @Test
+    public void idAnnotationIsPartOfTheDispatch() throws Exception {
+        DefaultTypeFunction typeFunction = DefaultTypeFunctionTestHelper.testedDefaultTypeFunction();
+        assertEquals(typeFunction.getTypeName(String.class, getClass().getField("idStringField").getAnnotatedType()), "ID");
+        assertEquals(typeFunction.getTypeName(String.class, getClass().getField("plainStringField").getAnnotatedType()), "String");
+        assertEquals(typeFunction.getTypeName(String.class, getClass().getField("idStringField").getAnnotatedType()), "ID");
+    }
+
+    public String plainStringField;
+
+    private static class UpperStringFunction extends StringFunction {
+        @Override
+        public String getTypeName(Class<?> aClass, java.lang.reflect.AnnotatedType annotatedType) {
+            return "UPPER";
+        }
+    }
+
+    @Test
+    public void registeringAndRemovingFunctionsInvalidatesTheDispatch() throws Exception {
+        DefaultTypeFunction typeFunction = DefaultTypeFunctionTestHelper.testedDefaultTypeFunction();
+        java.lang.reflect.AnnotatedType annotatedType = getClass().getField("plainStringField").getAnnotatedType();
+        assertEquals(typeFunction.getTypeName(String.class, annotatedType), "String");
+
+        UpperStringFunction upper = new UpperStringFunction();
+        typeFunction.addFunction(upper);
+        assertEquals(typeFunction.getTypeName(String.class, annotatedType), "UPPER");
+
+        typeFunction.removeFunction(upper);
+        assertEquals(typeFunction.getTypeName(String.class, annotatedType), "String");
+    }
+
     private ProcessingElementsContainer testedProcessingElementsContainer() {
         // wire up the ability
         GraphQLAnnotations graphQLAnnotations = new GraphQLAnnotations();
@@ -0,0 +1,136 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.processor.util;
+
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.processor.retrievers.GraphQLObjectInfoRetriever;
+import graphql.annotations.processor.searchAlgorithms.BreadthFirstSearch;
+import graphql.annotations.processor.searchAlgorithms.ParentalSearch;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ClassMetadataTest {
+
+    public interface Named {
+        @GraphQLField
+        String name();
+    }
+
+    @GraphQLField
+    public static class Base implements Comparable<Base> {
+        public String hidden;
+        public String inherited;
+
+        @GraphQLField(false)
+        public String excluded() {
+            return null;
+        }
+
+        @Override
+        public int compareTo(Base o) {
+            return 0;
+        }
+    }
+
+    public static class Child extends Base implements Named {
+        public int hidden;
+
+        @Override
+        public String name() {
+            return null;
+        }
+
+        public String other() {
+            return null;
+        }
+    }
+
+    public static class Plain {
+        public String value;
+
+        public String value() {
+            return value;
+        }
+    }
+
+    @Test
+    public void metadataIsComputedOncePerClass() {
+        assertSame(ClassMetadata.of(Child.class), ClassMetadata.of(Child.class));
+        assertSame(ClassMetadata.of(Child.class).getOrderedMethods().get(0), ClassMetadata.of(Child.class).getOrderedMethods().get(0));
+    }
+
+    @Test
+    public void methodsAreOrderedByName() {
+        List<String> names = ClassMetadata.of(Child.class).getOrderedMethods().stream().map(Method::getName).collect(Collectors.toList());
+        assertEquals(names, names.stream().sorted().collect(Collectors.toList()));
+        assertTrue(names.containsAll(Arrays.asList("name", "other", "excluded")));
+    }
+
+    @Test
+    public void fieldsOfSubclassesHideFieldsOfSuperclasses() {
+        ClassMetadata metadata = ClassMetadata.of(Child.class);
+        assertEquals(metadata.getAllFields().keySet(), Arrays.asList("hidden", "inherited").stream().collect(Collectors.toSet()));
+        assertEquals(metadata.getAllFields().get("hidden").getType(), int.class);
+        assertEquals(metadata.getAllFields().get("inherited").getDeclaringClass(), Base.class);
+    }
+
+    @Test
+    public void declaredMethodIsTheMostSpecificOne() throws Exception {
+        assertEquals(ClassMetadata.of(Base.class).getDeclaredMethod("compareTo", new Class<?>[]{Object.class}),
+                Base.class.getDeclaredMethod("compareTo", Object.class));
+        assertEquals(ClassMetadata.of(Base.class).getDeclaredMethod("compareTo", new Class<?>[]{Base.class}),
+                Base.class.getDeclaredMethod("compareTo", Base.class));
+        assertNull(ClassMetadata.of(Child.class).getDeclaredMethod("excluded", new Class<?>[0]));
+    }
+
+    @Test
+    public void verdictsFollowTheHierarchy() throws Exception {
+        BreadthFirstSearch methodSearch = new BreadthFirstSearch(new GraphQLObjectInfoRetriever());
+        ParentalSearch fieldSearch = new ParentalSearch(new GraphQLObjectInfoRetriever());
+
+        assertTrue(methodSearch.isFound(Child.class.getMethod("name")));
+        assertTrue(methodSearch.isFound(Child.class.getMethod("other")));
+        assertFalse(methodSearch.isFound(Child.class.getMethod("excluded")));
+        assertTrue(methodSearch.isFound(Base.class.getMethod("compareTo", Base.class)));
+        assertTrue(fieldSearch.isFound(Child.class.getField("hidden")));
+        assertTrue(fieldSearch.isFound(Base.class.getField("inherited")));
+    }
+
+    @Test
+    public void customRetrieversAreStillConsulted() throws Exception {
+        GraphQLObjectInfoRetriever retriever = new GraphQLObjectInfoRetriever() {
+            @Override
+            public Boolean isGraphQLField(AnnotatedElement element) {
+                return element == Plain.class ? Boolean.TRUE : super.isGraphQLField(element);
+            }
+        };
+
+        assertTrue(new BreadthFirstSearch(retriever).isFound(Plain.class.getMethod("value")));
+        assertTrue(new ParentalSearch(retriever).isFound(Plain.class.getField("value")));
+        assertFalse(new BreadthFirstSearch(new GraphQLObjectInfoRetriever()).isFound(Plain.class.getMethod("value")));
+        assertFalse(new ParentalSearch(new GraphQLObjectInfoRetriever()).isFound(Plain.class.getField("value")));
+    }
+}
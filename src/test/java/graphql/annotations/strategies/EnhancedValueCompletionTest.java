@@ -0,0 +1,157 @@
+/**
+ * Copyright 2016 Yurii Rashkovskii
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ */
+package graphql.annotations.strategies;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLRelayMutation;
+import graphql.annotations.processor.GraphQLAnnotations;
+import graphql.execution.ExecutionStepInfo;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLSchema;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static graphql.annotations.AnnotationsSchemaCreator.newAnnotationsSchema;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("unchecked")
+public class EnhancedValueCompletionTest {
+
+    private GraphQLSchema schema;
+
+    public enum Color {
+        RED, GREEN, @GraphQLName("NAVY") BLUE
+    }
+
+    public static class Payload {
+        private final String name;
+
+        public Payload(String name) {
+            this.name = name;
+        }
+
+        @GraphQLField
+        public String name() {
+            return name;
+        }
+    }
+
+    public static class Query {
+        @GraphQLField
+        public Optional<String> present() {
+            return Optional.of("value");
+        }
+
+        @GraphQLField
+        public Optional<String> absent() {
+            return Optional.empty();
+        }
+
+        @GraphQLField
+        public Color color() {
+            return Color.GREEN;
+        }
+
+        @GraphQLField
+        public Color renamedColor() {
+            return Color.BLUE;
+        }
+
+        @GraphQLField
+        @GraphQLRelayMutation
+        public Payload rename(@GraphQLName("name") String name) {
+            return new Payload(name);
+        }
+    }
+
+    @BeforeMethod
+    public void init() {
+        schema = newAnnotationsSchema().query(Query.class).mutation(Query.class).setAnnotationsProcessor(new GraphQLAnnotations()).build();
+    }
+
+    @Test
+    public void parallelStrategyCompletesQueryValues() {
+        GraphQL graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new ParallelEnhancedExecutionStrategy()).build();
+        assertQueryValues(graphQL);
+    }
+
+    @Test
+    public void parallelStrategyCompletesRelayMutationPayload() {
+        GraphQL graphQL = GraphQL.newGraphQL(schema).queryExecutionStrategy(new ParallelEnhancedExecutionStrategy()).build();
+        assertMutationPayload(graphQL);
+    }
+
+    @Test
+    public void instrumentationCompletesValuesOfDefaultStrategies() {
+        GraphQL graphQL = GraphQL.newGraphQL(schema).instrumentation(new EnhancedValueCompletionInstrumentation()).build();
+        assertQueryValues(graphQL);
+        assertMutationPayload(graphQL);
+    }
+
+    private void assertQueryValues(GraphQL graphQL) {
+        ExecutionResult result = graphQL.execute("{ present absent color renamedColor }", new Query());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("present"), "value");
+        assertTrue(data.containsKey("absent"));
+        assertEquals(data.get("absent"), null);
+        assertEquals(data.get("color"), "GREEN");
+        assertEquals(data.get("renamedColor"), "NAVY");
+    }
+
+    @Test
+    public void completeValuesAreNotReplaced() {
+        EnhancedValueCompletion valueCompletion = new EnhancedValueCompletion();
+        GraphQLEnumType colorType = (GraphQLEnumType) schema.getType("Color");
+        ExecutionStepInfo stepInfo = ExecutionStepInfo.newExecutionStepInfo().type(colorType).build();
+        assertSame(valueCompletion.complete(stepInfo, Color.RED), Color.RED);
+        assertSame(valueCompletion.complete(stepInfo, Color.BLUE), Color.BLUE);
+        assertEquals(valueCompletion.complete(stepInfo, Optional.of(Color.GREEN)), Color.GREEN);
+    }
+
+    private void assertMutationPayload(GraphQL graphQL) {
+        ExecutionResult result = graphQL.execute("mutation { rename(input: {name: \"a\", clientMutationId: \"1\"}) { name clientMutationId } " +
+                "other: rename(input: {name: \"b\", clientMutationId: \"2\"}) { name clientMutationId } }", new Query());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        Map<String, Object> data = result.getData();
+        assertEquals(data.get("rename"), payload("a", "1"));
+        assertEquals(data.get("other"), payload("b", "2"));
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("name", "c");
+        input.put("clientMutationId", "3");
+        result = graphQL.execute("mutation Rename($input: RenameInput!) { rename(input: $input) { name clientMutationId } }",
+                new Query(), Collections.singletonMap("input", input));
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+        assertEquals(((Map<String, Object>) result.getData()).get("rename"), payload("c", "3"));
+    }
+
+    private static Map<String, Object> payload(String name, String clientMutationId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("name", name);
+        payload.put("clientMutationId", clientMutationId);
+        return payload;
+    }
+}